@@ -0,0 +1,257 @@
+package me.yleoft.zAPI.chat;
+
+import io.papermc.paper.chat.ChatRenderer;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import me.yleoft.zAPI.configuration.YAMLBuilder;
+import me.yleoft.zAPI.utility.TextFormatter;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Formats chat on Paper's async chat thread, without waiting on the main thread.
+ *
+ * <p>Formats are loaded from a {@link YAMLBuilder} section, each with a permission and a priority,
+ * and the first format a sender has permission for is used:</p>
+ * <pre>{@code
+ * chat-formats:
+ *   default:
+ *     format: "<gray>%player%</gray> <dark_gray>»</dark_gray> %message%"
+ *   vip:
+ *     permission: "myplugin.chat.vip"
+ *     priority: 10
+ *     format: "<gold>%vault_prefix%%player%</gold> <dark_gray>»</dark_gray> <white>%message%"
+ * }</pre>
+ * <pre>{@code
+ * PluginYAML.registerEvent(new ChatFormatter().load(config, "chat-formats"));
+ * }</pre>
+ *
+ * <p>The format of each sender is rendered once, placeholders included, and cached. Chat messages only swap
+ * the message into the cached component, so placeholders that need the main thread (PlaceholderAPI) are
+ * resolved when the sender joins and refreshed in the background, never while a message waits.
+ * Until a sender's format is rendered, e.g. for their first message after the formats were replaced,
+ * their messages are rendered by the previous renderer.
+ * Formats are immutable and published all at once, so reads never lock. The message itself is inserted as
+ * a component, placeholders and tags typed by players are never parsed.</p>
+ */
+public class ChatFormatter implements Listener {
+
+    /**
+     * The default time a rendered format is reused before being refreshed in the background.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(5);
+
+    private static final String MESSAGE = "%message%";
+    private static final String MARKER = "\uE000message\uE001";
+
+    private final long refreshNanos;
+    private final Map<UUID, Rendered> senders = new ConcurrentHashMap<>();
+    // The token of each sender's refresh in flight, invalidating a sender drops it so its render isn't cached
+    private final Map<UUID, Object> refreshing = new ConcurrentHashMap<>();
+    private volatile Formats formats = new Formats(List.of());
+
+    /**
+     * Creates a new ChatFormatter refreshing formats every {@link #DEFAULT_REFRESH_INTERVAL}.
+     */
+    public ChatFormatter() {
+        this(DEFAULT_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Creates a new ChatFormatter.
+     * @param refreshInterval How long a sender's rendered format is reused before being refreshed in the background
+     */
+    public ChatFormatter(@NotNull Duration refreshInterval) {
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Loads the formats of a config section, replacing the current ones.
+     * Each key of the section is a format with a {@code format}, and optionally a {@code permission}
+     * and a {@code priority} (higher is checked first, 0 by default).
+     * @param config The config to load from
+     * @param path The path of the formats section
+     * @return This ChatFormatter for chaining
+     */
+    public ChatFormatter load(@NotNull YAMLBuilder config, @NotNull String path) {
+        List<Format> loaded = new ArrayList<>();
+        for (String name : config.getKeys(path, false)) {
+            String base = path + "." + name;
+            String format = config.getString(base + ".format");
+            if (format == null) {
+                zAPI.getLogger().warn("Chat format without a format string: " + base);
+                continue;
+            }
+            loaded.add(new Format(name, config.getString(base + ".permission", ""), config.getInt(base + ".priority", 0), format));
+        }
+        return setFormats(loaded);
+    }
+
+    /**
+     * Replaces the current formats, dropping every rendered format.
+     * @param formats The formats, in any order
+     * @return This ChatFormatter for chaining
+     */
+    public ChatFormatter setFormats(@NotNull Collection<Format> formats) {
+        List<Format> sorted = new ArrayList<>(formats);
+        sorted.sort(Comparator.comparingInt(Format::priority).reversed());
+        this.formats = new Formats(List.copyOf(sorted));
+        senders.clear();
+        return this;
+    }
+
+    /**
+     * Gets the current formats.
+     * @return An unmodifiable list of formats, highest priority first
+     */
+    @NotNull
+    public List<Format> getFormats() {
+        return formats.list();
+    }
+
+    /**
+     * Renders a chat message of a sender, from any thread.
+     * @param sender The player sending the message
+     * @param message The message
+     * @return The formatted message, or null if no format applies to the sender or it isn't rendered yet
+     */
+    @Nullable
+    public Component render(@NotNull Player sender, @NotNull Component message) {
+        Formats formats = this.formats;
+        Rendered rendered = senders.get(sender.getUniqueId());
+        if (rendered == null || rendered.formats() != formats) {
+            // Rendered in the background, unless every placeholder could be resolved on this thread
+            refresh(sender, formats);
+            rendered = senders.get(sender.getUniqueId());
+            if (rendered == null || rendered.formats() != formats) return null;
+        } else if (System.nanoTime() - rendered.expiresAt() >= 0L) {
+            refresh(sender, formats);
+        }
+        if (rendered.component() == null) return null;
+        return rendered.component().replaceText(builder -> builder.matchLiteral(MARKER).once().replacement(message));
+    }
+
+    /**
+     * Drops the rendered format of a sender, e.g. after their rank changed.
+     * @param id The sender's UUID
+     */
+    public void invalidate(@NotNull UUID id) {
+        refreshing.remove(id);
+        senders.remove(id);
+    }
+
+    /**
+     * Drops every rendered format.
+     */
+    public void invalidateAll() {
+        refreshing.clear();
+        senders.clear();
+    }
+
+    /**
+     * Listens for async chat events.
+     * Used to render messages with the sender's format.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onAsyncChat(final AsyncChatEvent event) {
+        if (formats.list().isEmpty()) return;
+        ChatRenderer fallback = event.renderer();
+        // Rendered once for every viewer, falling back to the previous renderer when no format applies
+        ChatRenderer formatted = ChatRenderer.viewerUnaware((source, displayName, message) -> render(source, message));
+        event.renderer((source, displayName, message, viewer) -> {
+            Component rendered = formatted.render(source, displayName, message, viewer);
+            return rendered != null ? rendered : fallback.render(source, displayName, message, viewer);
+        });
+    }
+
+    /**
+     * Listens for player join events.
+     * Used to render the player's format before they chat, on their own thread.
+     */
+    @EventHandler
+    public void onPlayerJoin(final PlayerJoinEvent event) {
+        refresh(event.getPlayer(), formats);
+    }
+
+    /**
+     * Listens for player quit events.
+     * Used to drop the player's rendered format.
+     */
+    @EventHandler
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    private void refresh(Player sender, Formats formats) {
+        UUID id = sender.getUniqueId();
+        Object token = new Object();
+        if (refreshing.putIfAbsent(id, token) != null) return;
+        resolve(sender, formats, token).whenComplete((rendered, throwable) -> {
+            refreshing.remove(id, token);
+            if (throwable != null) zAPI.getLogger().warn("Failed to render chat format", throwable);
+        });
+    }
+
+    private CompletableFuture<Rendered> resolve(Player sender, Formats formats, Object token) {
+        Format format = formats.select(sender);
+        if (format == null) {
+            return CompletableFuture.completedFuture(publish(sender, new Rendered(formats, null, System.nanoTime() + refreshNanos), token));
+        }
+        String template = format.format().replace(MESSAGE, MARKER).replace("%player%", sender.getName());
+        return TextFormatter.transformStringAsync(sender, template)
+                .thenApply(resolved -> publish(sender, new Rendered(formats, TextFormatter.deserialize(resolved), System.nanoTime() + refreshNanos), token));
+    }
+
+    private Rendered publish(Player sender, Rendered rendered, Object token) {
+        // Formats may have been replaced, or the sender invalidated or gone, while resolving: don't cache a stale render
+        UUID id = sender.getUniqueId();
+        if (rendered.formats() != formats || refreshing.get(id) != token) return rendered;
+        senders.put(id, rendered);
+        // Invalidated between the check and the put
+        if (refreshing.get(id) != token) senders.remove(id, rendered);
+        return rendered;
+    }
+
+    /**
+     * A chat format.
+     * @param name The name of the format
+     * @param permission The permission needed to use it, empty for none
+     * @param priority The priority of the format, higher is checked first
+     * @param format The MiniMessage format, {@code %message%} being the message and {@code %player%} the sender's name
+     */
+    public record Format(@NotNull String name, @NotNull String permission, int priority, @NotNull String format) {
+
+        /**
+         * Checks if a sender can use this format.
+         * @param sender The player sending a message
+         * @return true if the format has no permission or the sender has it
+         */
+        public boolean appliesTo(@NotNull Player sender) {
+            return permission.isEmpty() || sender.hasPermission(permission);
+        }
+    }
+
+    private record Formats(List<Format> list) {
+        @Nullable
+        Format select(Player sender) {
+            for (Format format : list) {
+                if (format.appliesTo(sender)) return format;
+            }
+            return null;
+        }
+    }
+
+    private record Rendered(Formats formats, @Nullable Component component, long expiresAt) {
+    }
+}
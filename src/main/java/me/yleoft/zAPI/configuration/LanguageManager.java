@@ -1,32 +1,77 @@
 package me.yleoft.zAPI.configuration;
 
 import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.SafeConstructor;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
 
 /**
  * LanguageManager class to manage language files.
  * It provides methods to load and manage language files.
+ * Every message is compiled into a {@link MessageTemplate} when loaded, so sending it doesn't parse it again.
+ *
+ * <p>Only the main and fallback languages are loaded up front. Any other language is loaded the first time
+ * a player with that client locale needs it, and once no online player uses it anymore it's kept in a
+ * bounded LRU of idle languages until it gets evicted.</p>
+ *
+ * <p>Options are flattened straight from the already parsed {@link YAMLBuilder}s. Every language is an
+ * immutable snapshot that gets swapped in whole, so {@link #reload()} only re-reads files that changed and
+ * readers never see a half loaded language.</p>
+ *
+ * <p>Each language is resolved through a fallback chain, e.g. {@code pt_BR -> pt -> en_US}: the language itself,
+ * its base language if there's a file for it (or the chain set with {@link #setFallbackChain(String, String...)}),
+ * then the main and fallback languages. The chain is merged once into a single map, so a lookup is one hash probe
+ * no matter how deep the chain is.</p>
+ *
+ * <p>With an enum of {@link MessageKey}s bound through {@link #bindKeys(Class)} (see {@link MessageKeys}),
+ * every merged chain also gets a table indexed by the key ordinals, so looking up a key is an array load.</p>
  */
 public class LanguageManager {
 
+    private static final Set<LanguageManager> MANAGERS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     private final List<YAMLBuilder> languages;
+    private final File folder;
     private final String languageCode;
     private final String fallbackLanguageCode;
-    private final Map<String, Object> options = new HashMap<>();
-    private final Map<String, Object> fallbackOptions = new HashMap<>();
     private final YAMLBuilder languageBuilder;
     private YAMLBuilder fallbackBuilder;
 
+    private volatile Map<String, String> availableLanguages = Map.of();
+    private final Map<String, Language> loaded = new ConcurrentHashMap<>();
+    private final Map<UUID, String> playerLanguages = new ConcurrentHashMap<>();
+    private final Map<String, Integer> languageUsers = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Boolean> idle = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() <= maxIdleLanguages) return false;
+            if (!isInUse(eldest.getKey())) {
+                unload(eldest.getKey());
+            }
+            return true;
+        }
+    };
+    private volatile int maxIdleLanguages = 4;
+
+    private final Map<String, List<String>> fallbackChains = new ConcurrentHashMap<>();
+    private final Map<String, Resolved> resolved = new ConcurrentHashMap<>();
+
+    private volatile Language language;
+    private volatile Language fallbackLanguage;
+    private volatile Resolved mainResolved = new Resolved(List.of(), Map.of(), Map.of(), null, null);
+    private volatile Class<?> keyClass;
+    private volatile MessageKey[] keys;
+
     /**
      * Creates a new LanguageManager instance.
      * @param languages The folder where the language files are located.
@@ -45,10 +90,29 @@ public class LanguageManager {
      * @throws IOException If the language file cannot be found.
      */
     public LanguageManager(@NotNull List<YAMLBuilder> languages, @NotNull String languageCode, @Nullable String fallbackLanguageCode) throws IOException {
+        this(null, languages, languageCode, fallbackLanguageCode);
+    }
+
+    /**
+     * Creates a new LanguageManager instance that loads the language files of a folder on demand.
+     * Files are named after their language code, e.g. {@code en_US.yml} or {@code pt.yml}.
+     * @param folder The folder where the language files are located.
+     * @param languageCode The language code to use.
+     * @param fallbackLanguageCode The fallback language code to use.
+     * @throws IOException If the language file cannot be found.
+     */
+    public LanguageManager(@NotNull File folder, @NotNull String languageCode, @Nullable String fallbackLanguageCode) throws IOException {
+        this(folder, new CopyOnWriteArrayList<>(), languageCode, fallbackLanguageCode);
+    }
+
+    private LanguageManager(@Nullable File folder, @NotNull List<YAMLBuilder> languages, @NotNull String languageCode, @Nullable String fallbackLanguageCode) throws IOException {
+        this.folder = folder;
         this.languages = languages;
         this.languageCode = languageCode;
         this.fallbackLanguageCode = fallbackLanguageCode;
 
+        scanLanguages();
+
         this.languageBuilder = findLanguageBuilder(languageCode);
         if (languageBuilder == null) {
             zAPI.getLogger().warn("Language file not found for code: " + languageCode);
@@ -62,6 +126,28 @@ public class LanguageManager {
         }
 
         load();
+        MANAGERS.add(this);
+    }
+
+    private void scanLanguages() {
+        Map<String, String> available = new HashMap<>();
+        if (folder != null) {
+            File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (files != null) {
+                for (File file : files) {
+                    String code = file.getName().substring(0, file.getName().length() - 4);
+                    available.put(code.toLowerCase(Locale.ROOT), code);
+                }
+            }
+        } else {
+            for (YAMLBuilder builder : languages) {
+                String name = builder.getFile().getName();
+                if (!name.endsWith(".yml")) continue;
+                String code = name.substring(0, name.length() - 4);
+                available.put(code.toLowerCase(Locale.ROOT), code);
+            }
+        }
+        availableLanguages = available;
     }
 
     private YAMLBuilder findLanguageBuilder(String code) {
@@ -70,16 +156,109 @@ public class LanguageManager {
                 return builder;
             }
         }
+        if (folder != null && new File(folder, code + ".yml").exists()) {
+            YAMLBuilder builder = new YAMLBuilder(folder, code + ".yml");
+            languages.add(builder);
+            return builder;
+        }
         return null;
     }
 
     /**
-     * Reloads the YAML files and repopulates the maps.
+     * Reloads the YAML files that changed on disk and swaps in their new options.
+     * A file is only parsed again if its modification time or size changed and its checksum doesn't match anymore.
+     * Every merged fallback chain with a language that changed, loaded or not, is merged again on its next use.
      */
     public void reload() throws IOException {
-        options.clear();
-        fallbackOptions.clear();
-        load();
+        scanLanguages();
+        boolean changed = false;
+
+        Language previous = language;
+        if (previous != null) {
+            language = refresh(previous);
+            changed = language != previous;
+        }
+        previous = fallbackLanguage;
+        if (previous != null) {
+            fallbackLanguage = refresh(previous);
+            changed |= fallbackLanguage != previous;
+        }
+        for (Map.Entry<String, Language> entry : loaded.entrySet()) {
+            Language fresh = refresh(entry.getValue());
+            if (fresh != entry.getValue()) {
+                loaded.replace(entry.getKey(), entry.getValue(), fresh);
+            }
+        }
+
+        // Every chain ends with the main and fallback languages
+        if (changed) {
+            resolveAll();
+            return;
+        }
+        for (Map.Entry<String, Resolved> entry : resolved.entrySet()) {
+            if (isStale(entry.getKey(), entry.getValue())) {
+                resolved.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Checks if a merged chain doesn't match its languages anymore, stating the files of the ones not loaded.
+     */
+    private boolean isStale(@NotNull String code, @NotNull Resolved view) throws IOException {
+        if (!view.chain().equals(getFallbackChain(code))) return true;
+        for (String member : view.chain()) {
+            Language merged = view.sources().get(member);
+            Language current = current(member);
+            if (merged == null) {
+                if (current != null || availableLanguages.containsKey(member.toLowerCase(Locale.ROOT))) return true;
+            } else if (current != null ? current != merged : changedOnDisk(merged)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private Language current(@NotNull String code) {
+        if (code.equals(languageCode)) return language;
+        if (code.equals(fallbackLanguageCode)) return fallbackLanguage;
+        return loaded.get(code);
+    }
+
+    /**
+     * Sets the languages checked after a language, before the main and fallback languages.
+     * By default, a language like {@code pt_BR} falls back to {@code pt} if there's a file for it.
+     * @param code The language code.
+     * @param fallbacks The languages to check after it, in order.
+     */
+    public void setFallbackChain(@NotNull String code, @NotNull String... fallbacks) {
+        fallbackChains.put(code, List.of(fallbacks));
+        resolveAll();
+    }
+
+    /**
+     * Gets the full fallback chain of a language, in lookup order.
+     * @param code The language code.
+     * @return The chain, starting with the language itself.
+     */
+    @NotNull
+    public List<String> getFallbackChain(@NotNull String code) {
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(code);
+        List<String> custom = fallbackChains.get(code);
+        if (custom != null) {
+            chain.addAll(custom);
+        } else {
+            int separator = code.indexOf('_');
+            if (separator > 0) {
+                String base = availableLanguages.get(code.substring(0, separator).toLowerCase(Locale.ROOT));
+                if (base != null) chain.add(base);
+            }
+        }
+        chain.add(languageCode);
+        if (fallbackLanguageCode != null) chain.add(fallbackLanguageCode);
+        return new ArrayList<>(chain);
     }
 
     /**
@@ -88,13 +267,140 @@ public class LanguageManager {
      * @return The option, or null if not found.
      */
     public Object get(@NotNull String path) {
-        if (options.containsKey(path)) {
-            return options.get(path);
+        return get(null, path);
+    }
+
+    /**
+     * Gets an option in a player's language, checking the main and fallback languages after it.
+     * @param player The player, their client locale picks the language.
+     * @param path The path to the option.
+     * @return The option, or null if not found.
+     */
+    public Object get(@Nullable OfflinePlayer player, @NotNull String path) {
+        Entry entry = resolve(player).entries.get(path);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Gets an option in a player's language.
+     * @param player The player, their client locale picks the language.
+     * @param key The key of the option.
+     * @return The option, or null if not found.
+     */
+    public Object get(@Nullable OfflinePlayer player, @NotNull MessageKey key) {
+        Entry entry = resolve(player).get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Gets an option as a string in a player's language.
+     * @param player The player, their client locale picks the language.
+     * @param key The key of the option.
+     * @return The option as a string, or null if not found.
+     */
+    public String getString(@Nullable OfflinePlayer player, @NotNull MessageKey key) {
+        Object value = get(player, key);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Gets the compiled message of a key in a player's language.
+     * @param player The player, their client locale picks the language.
+     * @param key The key of the message.
+     * @return The compiled message, or null if not found or not a string.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@Nullable OfflinePlayer player, @NotNull MessageKey key) {
+        Entry entry = resolve(player).get(key);
+        return entry != null ? entry.template : null;
+    }
+
+    /**
+     * Gets a message as a component in a player's language, with placeholders applied for them.
+     * @param player The player to apply placeholders for.
+     * @param key The key of the message.
+     * @param replacements Custom replacements by token (e.g. {@code "%amount%"}), checked before any other placeholder.
+     * @return The message component, or null if not found.
+     */
+    @Nullable
+    public Component getComponent(@Nullable OfflinePlayer player, @NotNull MessageKey key, @Nullable Map<String, String> replacements) {
+        MessageTemplate template = getTemplate(player, key);
+        return template != null ? template.render(player, replacements) : null;
+    }
+
+    /**
+     * Gets a message as a component in a player's language, with placeholders applied for them.
+     * @param player The player to apply placeholders for.
+     * @param key The key of the message.
+     * @return The message component, or null if not found.
+     */
+    @Nullable
+    public Component getComponent(@Nullable OfflinePlayer player, @NotNull MessageKey key) {
+        return getComponent(player, key, null);
+    }
+
+    /**
+     * Sends a message to every player in their own language.
+     * Players are grouped by the message their language resolves to, and each group renders it
+     * once per distinct set of placeholder values (see {@link MessageTemplate#broadcast(Collection, Map)}).
+     * @param players The players to send the message to.
+     * @param path The path to the message.
+     * @param replacements Custom replacements by token (e.g. {@code "%amount%"}), checked before any other placeholder.
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @NotNull String path, @Nullable Map<String, String> replacements) {
+        Map<MessageTemplate, List<Player>> groups = new IdentityHashMap<>();
+        for (Player player : players) {
+            MessageTemplate template = getTemplate(player, path);
+            if (template != null) groups.computeIfAbsent(template, k -> new ArrayList<>()).add(player);
         }
-        if (fallbackLanguageCode != null && fallbackOptions.containsKey(path)) {
-            return fallbackOptions.get(path);
+        groups.forEach((template, group) -> template.broadcast(group, replacements));
+    }
+
+    /**
+     * Sends a message to every player in their own language.
+     * @param players The players to send the message to.
+     * @param key The key of the message.
+     * @param replacements Custom replacements by token (e.g. {@code "%amount%"}), checked before any other placeholder.
+     * @see #broadcast(Collection, String, Map)
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @NotNull MessageKey key, @Nullable Map<String, String> replacements) {
+        Map<MessageTemplate, List<Player>> groups = new IdentityHashMap<>();
+        for (Player player : players) {
+            MessageTemplate template = getTemplate(player, key);
+            if (template != null) groups.computeIfAbsent(template, k -> new ArrayList<>()).add(player);
         }
-        return null;
+        groups.forEach((template, group) -> template.broadcast(group, replacements));
+    }
+
+    /**
+     * Binds an enum of message keys, usually generated with {@link MessageKeys}.
+     * Every merged language gets a table indexed by the key ordinals, keys missing from the main language are logged.
+     * @param keys The enum class.
+     * @param <K> The enum type.
+     */
+    public <K extends Enum<K> & MessageKey> void bindKeys(@NotNull Class<K> keys) {
+        this.keys = keys.getEnumConstants();
+        this.keyClass = keys;
+        resolveAll();
+
+        Map<String, Entry> entries = mainResolved.entries;
+        for (MessageKey key : this.keys) {
+            if (!entries.containsKey(key.path())) {
+                zAPI.getLogger().warn("Message key " + key + " (" + key.path() + ") not found for language: " + languageCode);
+            }
+        }
+    }
+
+    /**
+     * Gets which language of a player's fallback chain supplied an option.
+     * @param player The player, their client locale picks the language.
+     * @param path The path to the option.
+     * @return The language code, or null if not found.
+     */
+    @Nullable
+    public String getSourceLanguage(@Nullable OfflinePlayer player, @NotNull String path) {
+        Entry entry = resolve(player).entries.get(path);
+        return entry != null ? entry.source : null;
     }
 
     /**
@@ -103,49 +409,319 @@ public class LanguageManager {
      * @return The option as a string, or null if not found.
      */
     public String getString(@NotNull String path) {
-        Object value = get(path);
+        return getString(null, path);
+    }
+
+    /**
+     * Gets an option as a string in a player's language, checking the main and fallback languages after it.
+     * @param player The player, their client locale picks the language.
+     * @param path The path to the option.
+     * @return The option as a string, or null if not found.
+     */
+    public String getString(@Nullable OfflinePlayer player, @NotNull String path) {
+        Object value = get(player, path);
         return value != null ? value.toString() : null;
     }
 
-    private void load() throws IOException {
-        Yaml yaml;
-        try {
-            Class<?> loaderOptionsClass = Class.forName("org.yaml.snakeyaml.LoaderOptions");
-            yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
-        }catch (ClassNotFoundException | NoSuchMethodError e) {
-            yaml = new Yaml();
+    /**
+     * Gets the compiled message at a path, checking main language first then fallback.
+     * @param path The path to the message.
+     * @return The compiled message, or null if not found or not a string.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@NotNull String path) {
+        return getTemplate(null, path);
+    }
+
+    /**
+     * Gets the compiled message at a path in a player's language, checking the main and fallback languages after it.
+     * @param player The player, their client locale picks the language.
+     * @param path The path to the message.
+     * @return The compiled message, or null if not found or not a string.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@Nullable OfflinePlayer player, @NotNull String path) {
+        Entry entry = resolve(player).entries.get(path);
+        return entry != null ? entry.template : null;
+    }
+
+    /**
+     * Gets a message as a component.
+     * Messages without placeholders are cached, so the same component is returned every time.
+     * @param path The path to the message.
+     * @return The message component, or null if not found.
+     */
+    @Nullable
+    public Component getComponent(@NotNull String path) {
+        return getComponent(null, path, null);
+    }
+
+    /**
+     * Gets a message as a component in a player's language, with placeholders applied for them.
+     * @param player The player to apply placeholders for.
+     * @param path The path to the message.
+     * @return The message component, or null if not found.
+     */
+    @Nullable
+    public Component getComponent(@Nullable OfflinePlayer player, @NotNull String path) {
+        return getComponent(player, path, null);
+    }
+
+    /**
+     * Gets a message as a component in a player's language, with placeholders applied for them.
+     * @param player The player to apply placeholders for.
+     * @param path The path to the message.
+     * @param replacements Custom replacements by token (e.g. {@code "%amount%"}), checked before any other placeholder.
+     * @return The message component, or null if not found.
+     */
+    @Nullable
+    public Component getComponent(@Nullable OfflinePlayer player, @NotNull String path, @Nullable Map<String, String> replacements) {
+        MessageTemplate template = getTemplate(player, path);
+        return template != null ? template.render(player, replacements) : null;
+    }
+
+    /**
+     * Gets the language code used for a player, resolved from their client locale.
+     * An exact match (e.g. {@code pt_BR}) is preferred over the language alone (e.g. {@code pt}).
+     * @param player The player.
+     * @return The language code, or the main language code if the player is offline or their locale isn't available.
+     */
+    @NotNull
+    public String getLanguage(@Nullable OfflinePlayer player) {
+        if (!(player instanceof Player online)) return languageCode;
+        String code = playerLanguages.get(online.getUniqueId());
+        if (code == null) {
+            code = resolveLanguage(online.locale());
+            trackPlayer(online.getUniqueId(), code);
         }
+        return code;
+    }
+
+    private String resolveLanguage(@Nullable Locale locale) {
+        if (locale == null) return languageCode;
+        String code = availableLanguages.get(locale.toString().toLowerCase(Locale.ROOT));
+        if (code == null) code = availableLanguages.get(locale.getLanguage().toLowerCase(Locale.ROOT));
+        return code != null ? code : languageCode;
+    }
 
-        try (FileInputStream inputStream = new FileInputStream(languageBuilder.getFile())) {
-            Object data = yaml.load(inputStream);
-            if (data instanceof Map) {
-                flattenMap("", (Map<?, ?>) data, options);
+    private Resolved resolve(@Nullable OfflinePlayer player) {
+        String code = getLanguage(player);
+        if (code.equals(languageCode)) return mainResolved;
+        Resolved view = resolved.get(code);
+        if (view == null) {
+            // Merged outside of a compute, as loading the chain can evict idle languages from this map
+            view = merge(code);
+            Resolved existing = resolved.putIfAbsent(code, view);
+            if (existing != null) view = existing;
+        }
+        return view;
+    }
+
+    private void resolveAll() {
+        mainResolved = merge(languageCode);
+        for (String code : resolved.keySet()) {
+            resolved.replace(code, merge(code));
+        }
+    }
+
+    /**
+     * Merges the fallback chain of a language into one map, the first language of the chain wins.
+     */
+    private Resolved merge(@NotNull String code) {
+        List<String> chain = getFallbackChain(code);
+        Map<String, Entry> entries = new HashMap<>();
+        Map<String, Language> sources = new HashMap<>();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            String source = chain.get(i);
+            Language lang = source.equals(languageCode) ? language
+                    : source.equals(fallbackLanguageCode) ? fallbackLanguage
+                    : getLoaded(source);
+            if (lang == null) continue;
+            sources.put(source, lang);
+            for (Map.Entry<String, Object> option : lang.options.entrySet()) {
+                entries.put(option.getKey(), new Entry(option.getValue(), lang.templates.get(option.getKey()), source));
             }
         }
 
-        if (fallbackBuilder != null) {
-            try (FileInputStream inputStream = new FileInputStream(fallbackBuilder.getFile())) {
-                Object data = yaml.load(inputStream);
-                if (data instanceof Map) {
-                    flattenMap("", (Map<?, ?>) data, fallbackOptions);
-                }
+        Class<?> boundClass = keyClass;
+        MessageKey[] boundKeys = keys;
+        Entry[] table = null;
+        if (boundKeys != null) {
+            table = new Entry[boundKeys.length];
+            for (MessageKey key : boundKeys) {
+                table[key.ordinal()] = entries.get(key.path());
+            }
+        }
+        return new Resolved(List.copyOf(chain), Collections.unmodifiableMap(sources),
+                Collections.unmodifiableMap(entries), table, boundClass);
+    }
+
+    private Language getLoaded(@NotNull String code) {
+        Language lang = loaded.get(code);
+        if (lang == null) {
+            lang = loaded.computeIfAbsent(code, this::loadLanguage);
+            if (lang == null) return null;
+        }
+        if (!isInUse(code)) {
+            // Idle language, keep it as the most recently used one
+            synchronized (idle) {
+                idle.put(code, Boolean.TRUE);
+            }
+        }
+        return lang;
+    }
+
+    private boolean isInUse(@NotNull String code) {
+        if (code.equals(languageCode) || code.equals(fallbackLanguageCode) || languageUsers.containsKey(code)) return true;
+        // A base language like pt stays loaded while a language falling back to it is used
+        for (String used : languageUsers.keySet()) {
+            if (getFallbackChain(used).contains(code)) return true;
+        }
+        return false;
+    }
+
+    private void trackPlayer(@NotNull UUID uuid, @NotNull String code) {
+        String previous = playerLanguages.put(uuid, code);
+        if (code.equals(previous)) return;
+        languageUsers.merge(code, 1, Integer::sum);
+        synchronized (idle) {
+            idle.remove(code);
+        }
+        if (previous != null) release(previous);
+    }
+
+    private void untrackPlayer(@NotNull UUID uuid) {
+        String previous = playerLanguages.remove(uuid);
+        if (previous != null) release(previous);
+    }
+
+    private void unload(@NotNull String code) {
+        // Merged chains with the language would keep its options, drop them too
+        resolved.entrySet().removeIf(entry -> entry.getKey().equals(code) || entry.getValue().sources().containsKey(code));
+        Language lang = loaded.remove(code);
+        if (lang == null) return;
+        // Builders of a folder are only kept while their language is loaded
+        if (folder != null) languages.remove(lang.builder);
+    }
+
+    private void release(@NotNull String code) {
+        languageUsers.computeIfPresent(code, (k, users) -> users > 1 ? users - 1 : null);
+        if (languageUsers.containsKey(code)) return;
+        // The languages it falls back to may have been kept loaded for it only
+        for (String member : getFallbackChain(code)) {
+            if (isInUse(member) || !loaded.containsKey(member)) continue;
+            synchronized (idle) {
+                idle.put(member, Boolean.TRUE);
             }
         }
     }
 
-    private void flattenMap(String prefix, Map<?, ?> source, Map<String, Object> target) {
-        for (Map.Entry<?, ?> entry : source.entrySet()) {
-            String key = entry.getKey().toString();
-            String fullPath = prefix.isEmpty() ? key : prefix + "." + key;
+    /**
+     * Updates the language of a player on every LanguageManager, e.g. after they change their client locale.
+     * @param player The player.
+     * @param locale The new client locale.
+     */
+    public static void updatePlayer(@NotNull Player player, @Nullable Locale locale) {
+        synchronized (MANAGERS) {
+            for (LanguageManager manager : MANAGERS) {
+                manager.trackPlayer(player.getUniqueId(), manager.resolveLanguage(locale));
+            }
+        }
+    }
 
-            if (entry.getValue() instanceof Map) {
-                flattenMap(fullPath, (Map<?, ?>) entry.getValue(), target);
-            } else {
-                target.put(fullPath, entry.getValue());
+    /**
+     * Releases the language of a player on every LanguageManager, e.g. after they quit.
+     * @param player The player.
+     */
+    public static void removePlayer(@NotNull Player player) {
+        synchronized (MANAGERS) {
+            for (LanguageManager manager : MANAGERS) {
+                manager.untrackPlayer(player.getUniqueId());
             }
         }
     }
 
+    /**
+     * Sets how many languages no online player uses are kept loaded.
+     * The least recently used ones are evicted first.
+     * @param maxIdleLanguages The maximum amount of idle languages.
+     */
+    public void setMaxIdleLanguages(int maxIdleLanguages) {
+        this.maxIdleLanguages = Math.max(0, maxIdleLanguages);
+    }
+
+    /**
+     * Checks if a language is currently loaded.
+     * @param code The language code.
+     * @return true if the language is loaded.
+     */
+    public boolean isLoaded(@NotNull String code) {
+        return code.equals(languageCode) || code.equals(fallbackLanguageCode) || loaded.containsKey(code);
+    }
+
+    private void load() throws IOException {
+        language = languageBuilder != null ? loadLanguage(languageBuilder) : null;
+        fallbackLanguage = fallbackBuilder != null ? loadLanguage(fallbackBuilder) : null;
+        mainResolved = merge(languageCode);
+    }
+
+    private Language loadLanguage(@NotNull String code) {
+        YAMLBuilder builder = findLanguageBuilder(code);
+        if (builder == null) return null;
+        try {
+            return loadLanguage(builder);
+        } catch (IOException e) {
+            zAPI.getLogger().warn("Failed to load language file for code: " + code);
+            return null;
+        }
+    }
+
+    private Language loadLanguage(@NotNull YAMLBuilder builder) throws IOException {
+        File file = builder.getFile();
+        long lastModified = file.lastModified();
+        long length = file.length();
+        return compile(builder, lastModified, length, checksum(file));
+    }
+
+    private Language refresh(@NotNull Language lang) throws IOException {
+        File file = lang.builder.getFile();
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (lastModified == lang.lastModified && length == lang.length) return lang;
+
+        long checksum = checksum(file);
+        if (checksum == lang.checksum) {
+            return new Language(lang.builder, lastModified, length, checksum, lang.options, lang.templates);
+        }
+        lang.builder.refresh();
+        return compile(lang.builder, lastModified, length, checksum);
+    }
+
+    private static Language compile(@NotNull YAMLBuilder builder, long lastModified, long length, long checksum) {
+        Map<String, Object> options = builder.getFlattenedValues();
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        for (Map.Entry<String, Object> entry : options.entrySet()) {
+            if (entry.getValue() instanceof String string) {
+                templates.put(entry.getKey(), MessageTemplate.compile(string));
+            }
+        }
+        return new Language(builder, lastModified, length, checksum,
+                Collections.unmodifiableMap(options), Collections.unmodifiableMap(templates));
+    }
+
+    private static boolean changedOnDisk(@NotNull Language lang) throws IOException {
+        File file = lang.builder.getFile();
+        if (file.lastModified() == lang.lastModified && file.length() == lang.length) return false;
+        return checksum(file) != lang.checksum;
+    }
+
+    private static long checksum(@NotNull File file) throws IOException {
+        if (!file.exists()) return 0L;
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
     /**
      * Gets the current language code.
      * @return The current language code.
@@ -169,4 +745,32 @@ public class LanguageManager {
     public List<YAMLBuilder> getLanguages() {
         return languages;
     }
+
+    /**
+     * An immutable snapshot of the flattened options and compiled messages of one language file.
+     */
+    private record Language(YAMLBuilder builder, long lastModified, long length, long checksum,
+                            Map<String, Object> options, Map<String, MessageTemplate> templates) {
+    }
+
+    /**
+     * A fallback chain merged into one immutable map, plus a table indexed by the bound keys.
+     * It keeps the chain and the snapshot of every language it was merged from, to tell when it's stale.
+     */
+    private record Resolved(List<String> chain, Map<String, Language> sources, Map<String, Entry> entries,
+                            Entry[] table, Class<?> keyClass) {
+
+        Entry get(MessageKey key) {
+            if (table != null && key.getClass() == keyClass) {
+                return table[key.ordinal()];
+            }
+            return entries.get(key.path());
+        }
+    }
+
+    /**
+     * A resolved option, with the language that supplied it.
+     */
+    private record Entry(Object value, MessageTemplate template, String source) {
+    }
 }
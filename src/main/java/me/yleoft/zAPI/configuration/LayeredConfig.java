@@ -0,0 +1,421 @@
+package me.yleoft.zAPI.configuration;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A layered configuration built on top of {@link YAMLBuilder}s.
+ * Values are resolved from the most specific layer first: world, then world group, then global.
+ *
+ * <p>The layers are pre-merged into one flattened {@link View} per world when the config is loaded,
+ * so reading a value is a single map lookup no matter how many layers define it. Editing or reloading
+ * a layer only rebuilds the views that depend on it.</p>
+ */
+public class LayeredConfig {
+
+    private final YAMLBuilder global;
+    private final Map<String, YAMLBuilder> groups = new LinkedHashMap<>();
+    private final Map<String, String> worldGroups = new HashMap<>();
+    private final Map<String, YAMLBuilder> worlds = new LinkedHashMap<>();
+
+    private volatile View globalView = new View(Collections.emptyMap());
+    private final Map<String, View> groupViews = new ConcurrentHashMap<>();
+    private final Map<String, View> worldViews = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new LayeredConfig.
+     * @param global The global layer, used by every world.
+     */
+    public LayeredConfig(@NotNull YAMLBuilder global) {
+        this.global = global;
+    }
+
+    /**
+     * Adds a world group layer.
+     * @param group The group name.
+     * @param builder The layer for this group.
+     * @param worlds The worlds that belong to this group.
+     * @return This LayeredConfig for chaining
+     */
+    public LayeredConfig group(@NotNull String group, @NotNull YAMLBuilder builder, @NotNull String... worlds) {
+        groups.put(group, builder);
+        for (String world : worlds) {
+            worldGroups.put(world, group);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a world layer.
+     * @param world The world name.
+     * @param builder The layer for this world.
+     * @return This LayeredConfig for chaining
+     */
+    public LayeredConfig world(@NotNull String world, @NotNull YAMLBuilder builder) {
+        worlds.put(world, builder);
+        return this;
+    }
+
+    /**
+     * Merges every layer into its views.
+     * Must be called after all layers have been added.
+     * @return This LayeredConfig for chaining
+     */
+    public LayeredConfig load() {
+        rebuildGlobal();
+        return this;
+    }
+
+    /**
+     * Refreshes every layer from disk and rebuilds all views.
+     * @return This LayeredConfig for chaining
+     */
+    public LayeredConfig reload() {
+        global.refresh();
+        groups.values().forEach(YAMLBuilder::refresh);
+        worlds.values().forEach(YAMLBuilder::refresh);
+        return load();
+    }
+
+    /**
+     * Refreshes the global layer from disk and rebuilds all views.
+     */
+    public void reloadGlobal() {
+        global.refresh();
+        rebuildGlobal();
+    }
+
+    /**
+     * Refreshes a group layer from disk and rebuilds the views of its worlds.
+     * @param group The group name.
+     */
+    public void reloadGroup(@NotNull String group) {
+        YAMLBuilder builder = groups.get(group);
+        if (builder == null) return;
+        builder.refresh();
+        rebuildGroup(group);
+    }
+
+    /**
+     * Refreshes a world layer from disk and rebuilds its view.
+     * @param world The world name.
+     */
+    public void reloadWorld(@NotNull String world) {
+        YAMLBuilder builder = worlds.get(world);
+        if (builder == null) return;
+        builder.refresh();
+        rebuildWorld(world);
+    }
+
+    /**
+     * Sets a value in the global layer, saves it and rebuilds all views.
+     * @param path The path to the value.
+     * @param value The value, or null to remove it.
+     */
+    public void setGlobal(@NotNull String path, @Nullable Object value) {
+        global.set(path, value);
+        rebuildGlobal();
+    }
+
+    /**
+     * Sets a value in a group layer, saves it and rebuilds the views of its worlds.
+     * @param group The group name.
+     * @param path The path to the value.
+     * @param value The value, or null to remove it.
+     */
+    public void setGroup(@NotNull String group, @NotNull String path, @Nullable Object value) {
+        YAMLBuilder builder = groups.get(group);
+        if (builder == null) return;
+        builder.set(path, value);
+        rebuildGroup(group);
+    }
+
+    /**
+     * Sets a value in a world layer, saves it and rebuilds its view.
+     * @param world The world name.
+     * @param path The path to the value.
+     * @param value The value, or null to remove it.
+     */
+    public void setWorld(@NotNull String world, @NotNull String path, @Nullable Object value) {
+        YAMLBuilder builder = worlds.get(world);
+        if (builder == null) return;
+        builder.set(path, value);
+        rebuildWorld(world);
+    }
+
+    /**
+     * Gets the merged view for a world.
+     * Worlds without their own layer share the view of their group, or the global view.
+     * @param world The world name.
+     * @return The merged view.
+     */
+    @NotNull
+    public View view(@NotNull String world) {
+        View view = worldViews.get(world);
+        if (view != null) return view;
+        String group = worldGroups.get(world);
+        if (group != null) {
+            view = groupViews.get(group);
+            if (view != null) return view;
+        }
+        return globalView;
+    }
+
+    /**
+     * Gets the merged view for a world.
+     * @param world The world.
+     * @return The merged view.
+     */
+    @NotNull
+    public View view(@NotNull World world) {
+        return view(world.getName());
+    }
+
+    /**
+     * Gets the merged view of the global layer only.
+     * @return The global view.
+     */
+    @NotNull
+    public View globalView() {
+        return globalView;
+    }
+
+    /**
+     * Gets a value for a world, resolved through all layers.
+     * @param world The world name.
+     * @param path The path to the value.
+     * @return The value, or null if no layer defines it.
+     */
+    @Nullable
+    public Object get(@NotNull String world, @NotNull String path) {
+        return view(world).get(path);
+    }
+
+    /**
+     * Gets the global layer.
+     * @return The global layer.
+     */
+    public YAMLBuilder getGlobal() {
+        return global;
+    }
+
+    /**
+     * Gets a group layer.
+     * @param group The group name.
+     * @return The group layer, or null if not registered.
+     */
+    public YAMLBuilder getGroup(@NotNull String group) {
+        return groups.get(group);
+    }
+
+    /**
+     * Gets a world layer.
+     * @param world The world name.
+     * @return The world layer, or null if not registered.
+     */
+    public YAMLBuilder getWorld(@NotNull String world) {
+        return worlds.get(world);
+    }
+
+    private void rebuildGlobal() {
+        globalView = new View(global.getFlattenedValues());
+        for (String group : groups.keySet()) {
+            rebuildGroupView(group);
+        }
+        for (String world : worlds.keySet()) {
+            rebuildWorld(world);
+        }
+    }
+
+    private void rebuildGroup(@NotNull String group) {
+        rebuildGroupView(group);
+        for (String world : worlds.keySet()) {
+            if (group.equals(worldGroups.get(world))) {
+                rebuildWorld(world);
+            }
+        }
+    }
+
+    private void rebuildGroupView(@NotNull String group) {
+        groupViews.put(group, new View(merge(globalView.values, groups.get(group))));
+    }
+
+    private void rebuildWorld(@NotNull String world) {
+        String group = worldGroups.get(world);
+        View parent = group != null ? groupViews.getOrDefault(group, globalView) : globalView;
+        worldViews.put(world, new View(merge(parent.values, worlds.get(world))));
+    }
+
+    private static Map<String, Object> merge(@NotNull Map<String, Object> base, @NotNull YAMLBuilder layer) {
+        Map<String, Object> merged = new HashMap<>(base);
+        merged.putAll(layer.getFlattenedValues());
+        return merged;
+    }
+
+    /**
+     * An immutable, flattened view of every layer that applies to a world.
+     */
+    public static final class View {
+
+        private final Map<String, Object> values;
+
+        private View(@NotNull Map<String, Object> values) {
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        /**
+         * Gets the raw value at a path.
+         * @param path The path to the value.
+         * @return The value, or null if not found.
+         */
+        @Nullable
+        public Object get(@NotNull String path) {
+            return values.get(path);
+        }
+
+        /**
+         * Checks if a path exists in this view.
+         * @param path The path to check.
+         * @return true if the path exists.
+         */
+        public boolean contains(@NotNull String path) {
+            return values.containsKey(path);
+        }
+
+        /**
+         * Gets a String value.
+         * @param path The path to the value.
+         * @param defaultValue The default value if not found.
+         * @return The String value, or defaultValue if not found.
+         */
+        public String getString(@NotNull String path, @Nullable String defaultValue) {
+            Object value = values.get(path);
+            return value != null ? value.toString() : defaultValue;
+        }
+
+        /**
+         * Gets a String value.
+         * @param path The path to the value.
+         * @return The String value, or null if not found.
+         */
+        public String getString(@NotNull String path) {
+            return getString(path, null);
+        }
+
+        /**
+         * Gets an int value.
+         * @param path The path to the value.
+         * @param defaultValue The default value if not found or not a number.
+         * @return The int value, or defaultValue if not found.
+         */
+        public int getInt(@NotNull String path, int defaultValue) {
+            Object value = values.get(path);
+            if (value instanceof Number number) return number.intValue();
+            if (value instanceof String string) {
+                try {
+                    return Integer.parseInt(string);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            return defaultValue;
+        }
+
+        /**
+         * Gets an int value.
+         * @param path The path to the value.
+         * @return The int value, or 0 if not found or not a number.
+         */
+        public int getInt(@NotNull String path) {
+            return getInt(path, 0);
+        }
+
+        /**
+         * Gets a long value.
+         * @param path The path to the value.
+         * @param defaultValue The default value if not found or not a number.
+         * @return The long value, or defaultValue if not found.
+         */
+        public long getLong(@NotNull String path, long defaultValue) {
+            Object value = values.get(path);
+            if (value instanceof Number number) return number.longValue();
+            if (value instanceof String string) {
+                try {
+                    return Long.parseLong(string);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            return defaultValue;
+        }
+
+        /**
+         * Gets a double value.
+         * @param path The path to the value.
+         * @param defaultValue The default value if not found or not a number.
+         * @return The double value, or defaultValue if not found.
+         */
+        public double getDouble(@NotNull String path, double defaultValue) {
+            Object value = values.get(path);
+            if (value instanceof Number number) return number.doubleValue();
+            if (value instanceof String string) {
+                try {
+                    return Double.parseDouble(string);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            return defaultValue;
+        }
+
+        /**
+         * Gets a boolean value.
+         * @param path The path to the value.
+         * @param defaultValue The default value if not found or not a boolean.
+         * @return The boolean value, or defaultValue if not found.
+         */
+        public boolean getBoolean(@NotNull String path, boolean defaultValue) {
+            Object value = values.get(path);
+            if (value instanceof Boolean bool) return bool;
+            if (value instanceof String string) {
+                if (string.equalsIgnoreCase("true")) return true;
+                if (string.equalsIgnoreCase("false")) return false;
+            }
+            return defaultValue;
+        }
+
+        /**
+         * Gets a boolean value.
+         * @param path The path to the value.
+         * @return The boolean value, or false if not found.
+         */
+        public boolean getBoolean(@NotNull String path) {
+            return getBoolean(path, false);
+        }
+
+        /**
+         * Gets a List of Strings.
+         * @param path The path to the value.
+         * @return The List of Strings, or an empty list if not found.
+         */
+        public List<String> getStringList(@NotNull String path) {
+            Object value = values.get(path);
+            if (!(value instanceof List<?> list)) return new ArrayList<>();
+            List<String> result = new ArrayList<>(list.size());
+            for (Object item : list) {
+                result.add(item != null ? item.toString() : null);
+            }
+            return result;
+        }
+
+        /**
+         * Gets every path in this view.
+         * @return An unmodifiable set of paths.
+         */
+        public Set<String> getKeys() {
+            return values.keySet();
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package me.yleoft.zAPI.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A key of a language file, usually a constant of an enum generated by {@link MessageKeys}.
+ * Once the enum is bound with {@link LanguageManager#bindKeys(Class)}, looking up a key is an array load.
+ */
+public interface MessageKey {
+
+    /**
+     * Gets the path of this message in the language file.
+     * @return The path.
+     */
+    @NotNull
+    String path();
+
+    /**
+     * Gets the index of this key, implemented by the enum itself.
+     * @return The index.
+     */
+    int ordinal();
+
+}
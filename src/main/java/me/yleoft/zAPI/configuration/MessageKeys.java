@@ -0,0 +1,63 @@
+package me.yleoft.zAPI.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an enum of {@link MessageKey}s from the default language file at compile time.
+ * The enum is created in the package of the annotated type, with one constant per path,
+ * e.g. {@code messages.no-permission} becomes {@code MESSAGES_NO_PERMISSION}.
+ *
+ * <pre>{@code
+ * @MessageKeys(value = "lang/en_US.yml", name = "Lang")
+ * public final class MyPlugin extends JavaPlugin { ... }
+ *
+ * languageManager.bindKeys(Lang.class);
+ * languageManager.getComponent(player, Lang.MESSAGES_NO_PERMISSION);
+ * }</pre>
+ *
+ * <p>The file is looked up in the compiled resources (Maven copies them before compiling),
+ * then in the source path, then in the folder given with the {@code -Azapi.resources=<dir>} compiler option.</p>
+ *
+ * <p>The processor isn't part of the zAPI jar, so it never runs or gets shaded by accident. It's published with
+ * the {@code processor} classifier and needs zAPI and the Paper API next to it on the processor path:</p>
+ * <pre>{@code
+ * <annotationProcessorPaths>
+ *     <path>
+ *         <groupId>me.yleoft</groupId>
+ *         <artifactId>zAPI</artifactId>
+ *         <version>${zapi.version}</version>
+ *         <classifier>processor</classifier>
+ *     </path>
+ *     <path>
+ *         <groupId>me.yleoft</groupId>
+ *         <artifactId>zAPI</artifactId>
+ *         <version>${zapi.version}</version>
+ *     </path>
+ *     <path>
+ *         <groupId>io.papermc.paper</groupId>
+ *         <artifactId>paper-api</artifactId>
+ *         <version>${paper.version}</version>
+ *     </path>
+ * </annotationProcessorPaths>
+ * }</pre>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface MessageKeys {
+
+    /**
+     * The default language file, relative to the resources folder.
+     * @return The file path.
+     */
+    String value();
+
+    /**
+     * The simple name of the generated enum.
+     * @return The enum name.
+     */
+    String name() default "Lang";
+
+}
@@ -0,0 +1,243 @@
+package me.yleoft.zAPI.configuration;
+
+import me.yleoft.zAPI.utility.TextFormatter;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * A message compiled once into literal segments and placeholder slots.
+ *
+ * <p>Messages without placeholders are rendered into a {@link Component} when compiled and reused as is.
+ * Messages with placeholders are parsed once with a marker in place of each slot, so rendering only
+ * resolves the slots and swaps them into the cached component instead of parsing the whole message again.
+ * Slots used inside a MiniMessage tag (e.g. {@code <click:run_command:/tp %player%>}) can't be swapped
+ * that way, those messages are substituted as a string and parsed on render, and so are the renders where
+ * a slot resolves to a value with tags, so the result always matches parsing the substituted message.</p>
+ *
+ * <p>{@link #broadcast(Collection, Map)} renders once per distinct set of slot values, so sending a message to
+ * many players costs one render per different result instead of one per player.</p>
+ */
+public final class MessageTemplate {
+
+    private static final char SLOT_START = '\uE000';
+    private static final char SLOT_END = '\uE001';
+    private static final Pattern SLOT_PATTERN = Pattern.compile(SLOT_START + "(\\d+)" + SLOT_END);
+
+    private final String raw;
+    private final String[] literals;
+    private final String[] slots;
+    private final boolean insideTag;
+    private final Component component;
+
+    private MessageTemplate(String raw, String[] literals, String[] slots, boolean insideTag) {
+        this.raw = raw;
+        this.literals = literals;
+        this.slots = slots;
+        this.insideTag = insideTag;
+
+        if (slots.length == 0) {
+            this.component = zAPI.getMiniMessage().deserialize(raw);
+        } else if (insideTag) {
+            this.component = null;
+        } else {
+            StringBuilder sb = new StringBuilder(raw.length() + slots.length * 4);
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]).append(SLOT_START).append(i).append(SLOT_END);
+            }
+            sb.append(literals[slots.length]);
+            this.component = zAPI.getMiniMessage().deserialize(sb.toString());
+        }
+    }
+
+    /**
+     * Compiles a message.
+     * Placeholders are {@code %name%} tokens without whitespace.
+     * @param raw The raw message.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        boolean insideTag = false;
+
+        int depth = 0;
+        int literalStart = 0;
+        int length = raw.length();
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c == '\\' && i + 1 < length) {
+                i++;
+            } else if (c == '<') {
+                depth++;
+            } else if (c == '>' && depth > 0) {
+                depth--;
+            } else if (c == '%') {
+                int end = i + 1;
+                while (end < length && raw.charAt(end) != '%' && !Character.isWhitespace(raw.charAt(end))) end++;
+                if (end < length && raw.charAt(end) == '%' && end > i + 1) {
+                    literals.add(raw.substring(literalStart, i));
+                    slots.add(raw.substring(i, end + 1));
+                    if (depth > 0) insideTag = true;
+                    literalStart = end + 1;
+                    i = end;
+                }
+            }
+        }
+        literals.add(raw.substring(literalStart));
+
+        return new MessageTemplate(raw, literals.toArray(new String[0]), slots.toArray(new String[0]), insideTag);
+    }
+
+    /**
+     * Renders this message.
+     * @param player The player to apply placeholders for.
+     * @return The rendered component.
+     */
+    @NotNull
+    public Component render(@Nullable OfflinePlayer player) {
+        return render(player, null);
+    }
+
+    /**
+     * Renders this message.
+     * @param player The player to apply placeholders for.
+     * @param replacements Custom replacements by token (e.g. {@code "%amount%"}), checked before any other placeholder.
+     * @return The rendered component.
+     */
+    @NotNull
+    public Component render(@Nullable OfflinePlayer player, @Nullable Map<String, String> replacements) {
+        if (slots.length == 0) return component;
+        return render(resolveAll(player, replacements));
+    }
+
+    /**
+     * Sends this message to every player, rendering it once per distinct set of slot values.
+     * @param players The players to send the message to.
+     * @param replacements Custom replacements by token, checked before any other placeholder.
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @Nullable Map<String, String> replacements) {
+        broadcast(players, replacements, Player::sendMessage);
+    }
+
+    /**
+     * Renders this message once per distinct set of slot values and hands it to every player.
+     * @param players The players to render the message for.
+     * @param replacements Custom replacements by token, checked before any other placeholder.
+     * @param sender How to send the component, e.g. {@code Player::sendActionBar}.
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @Nullable Map<String, String> replacements,
+                          @NotNull BiConsumer<? super Player, ? super Component> sender) {
+        if (slots.length == 0) {
+            for (Player player : players) sender.accept(player, component);
+            return;
+        }
+        Map<List<String>, Component> rendered = new HashMap<>();
+        for (Player player : players) {
+            String[] values = resolveAll(player, replacements);
+            Component message = rendered.computeIfAbsent(Arrays.asList(values), key -> render(values));
+            sender.accept(player, message);
+        }
+    }
+
+    private String[] resolveAll(@Nullable OfflinePlayer player, @Nullable Map<String, String> replacements) {
+        String[] values = new String[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            values[i] = resolve(player, slots[i], replacements);
+        }
+        return values;
+    }
+
+    private Component render(String[] values) {
+        // A value with tags, e.g. a "<red>[VIP] " prefix, may style the text after it like in the raw message
+        if (insideTag || hasTags(values)) {
+            return zAPI.getMiniMessage().deserialize(substitute(values));
+        }
+
+        Component[] parts = new Component[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parts[i] = Component.text(values[i]);
+        }
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(SLOT_PATTERN)
+                .replacement((result, builder) -> parts[Integer.parseInt(result.group(1))])
+                .build());
+    }
+
+    private static boolean hasTags(String[] values) {
+        for (String value : values) {
+            if (value.indexOf('<') >= 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Renders this message as a string, without parsing it.
+     * @param player The player to apply placeholders for.
+     * @param replacements Custom replacements by token, checked before any other placeholder.
+     * @return The message with every slot substituted.
+     */
+    @NotNull
+    public String renderString(@Nullable OfflinePlayer player, @Nullable Map<String, String> replacements) {
+        if (slots.length == 0) return raw;
+        return substitute(resolveAll(player, replacements));
+    }
+
+    private static String resolve(@Nullable OfflinePlayer player, @NotNull String slot, @Nullable Map<String, String> replacements) {
+        if (replacements != null) {
+            String value = replacements.get(slot);
+            if (value != null) return value;
+        }
+        return TextFormatter.applyPlaceholders(player, slot);
+    }
+
+    private String substitute(String[] values) {
+        int size = raw.length();
+        for (String value : values) size += value.length();
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < values.length; i++) {
+            sb.append(literals[i]).append(values[i]);
+        }
+        return sb.append(literals[values.length]).toString();
+    }
+
+    /**
+     * Checks if this message has no placeholders, so rendering it always returns the same component.
+     * @return true if this message has no placeholders.
+     */
+    public boolean isConstant() {
+        return slots.length == 0;
+    }
+
+    /**
+     * Gets the placeholder tokens of this message, in order.
+     * @return An unmodifiable list of tokens, including the surrounding {@code %}.
+     */
+    @NotNull
+    public List<String> getSlots() {
+        return List.of(slots);
+    }
+
+    /**
+     * Gets the raw message this template was compiled from.
+     * @return The raw message.
+     */
+    @NotNull
+    public String getRaw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
@@ -5,7 +5,7 @@ package me.yleoft.zAPI.configuration;
  */
 public abstract class Messages {
 
-    private static String pluginPrefix = "";
+    private static volatile String pluginPrefix = "";
     private static String noPermissionDefault = "<red>You do not have permission to execute this command.";
     private static String onlyPlayersDefault = "<red>This command can only be executed by players.";
     private static String cooldownMessage = "<red>You must wait %time% seconds before using this command again.";
@@ -16,6 +16,7 @@ import java.util.regex.*;
  * - Comment support (headers, footers, inline comments)
  * - Version system with upgrade support
  * - Section organization with proper spacing
+ * - Anchors, aliases and merge keys, with aliased nodes shared in memory
  */
 public class YAMLBuilder extends Path {
 
@@ -34,9 +35,14 @@ public class YAMLBuilder extends Path {
     private boolean nextCommentHighlight = true;
     private String currentVersion = "1.0.0";
     private Map<String, Object> cachedData = null;
+    private final Map<String, String> anchorPaths = new HashMap<>();
+    private final Map<String, String> aliasPaths = new HashMap<>();
+    private final Map<String, List<String>> mergeKeys = new HashMap<>();
 
     private static final String VERSION_KEY = "config-version";
     private static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d)\\.(\\d{1,2})$");
+    private static final String MERGE_KEY = "<<";
+    private static final Pattern ANCHOR_NAME_PATTERN = Pattern.compile("[^\\s\\[\\]{},]+");
 
     private boolean migrateLegacyColors = false;
 
@@ -636,6 +642,51 @@ public class YAMLBuilder extends Path {
         return null;
     }
 
+    /**
+     * Gets every leaf value of the config flattened into dot-separated paths.
+     * Values loaded from the file take priority, defaults fill in the paths the file doesn't have.
+     * Sections and the config-version key are not included, multi-line strings are joined with new lines.
+     *
+     * @return A new map of full paths to values, in file order
+     */
+    public Map<String, Object> getFlattenedValues() {
+        Map<String, Object> flattened = new LinkedHashMap<>();
+        if (cachedData != null) {
+            flattenInto(cachedData, "", flattened);
+        }
+        for (Map.Entry<String, Object> entry : defaults.entrySet()) {
+            if (isVoided(entry.getKey())) continue;
+            flattened.putIfAbsent(entry.getKey(), unwrapValue(entry.getValue()));
+        }
+        return flattened;
+    }
+
+    /**
+     * Recursively flattens a nested map into full paths.
+     */
+    @SuppressWarnings("unchecked")
+    private void flattenInto(Map<String, Object> map, String prefix, Map<String, Object> target) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String fullPath = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            if (prefix.isEmpty() && entry.getKey().equals(VERSION_KEY)) continue;
+            if (entry.getValue() instanceof Map) {
+                flattenInto((Map<String, Object>) entry.getValue(), fullPath, target);
+            } else {
+                target.put(fullPath, unwrapValue(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Converts internal value holders into their public representation.
+     */
+    private static Object unwrapValue(Object value) {
+        if (value instanceof MultiLineString mls) {
+            return String.join("\n", mls.lines);
+        }
+        return value;
+    }
+
     /**
      * Gets all keys at the root level or within a section.
      *
@@ -1621,11 +1672,7 @@ public class YAMLBuilder extends Path {
         Map<String, Object> current = data;
 
         for (int i = 0; i < parts.length - 1; i++) {
-            String part = parts[i];
-            if (! current.containsKey(part) || !(current.get(part) instanceof Map)) {
-                current.put(part, new LinkedHashMap<String, Object>());
-            }
-            current = (Map<String, Object>) current.get(part);
+            current = mutableChild(current, parts[i]);
         }
 
         String finalKey = parts[parts.length - 1];
@@ -1700,6 +1747,11 @@ public class YAMLBuilder extends Path {
                         else newList.add(item);
                     }
                     ((Map<Object, Object>) map).put(key, newList);
+                } else if (v instanceof Map<?, ?> && !(v instanceof LinkedHashMap)) {
+                    // Shared (aliased) section, convert a copy
+                    Map<Object, Object> copy = new LinkedHashMap<>((Map<?, ?>) v);
+                    ((Map<Object, Object>) map).put(key, copy);
+                    convertLegacyColorsInObject(copy);
                 } else {
                     convertLegacyColorsInObject(v);
                 }
@@ -1814,6 +1866,12 @@ public class YAMLBuilder extends Path {
         Deque<Integer> indentStack = new ArrayDeque<>();
         indentStack.push(-1);
 
+        anchorPaths.clear();
+        aliasPaths.clear();
+        mergeKeys.clear();
+        Map<String, Object> anchorValues = new HashMap<>();
+        Set<String> mergedPaths = new HashSet<>();
+
         String currentListPath = null;
         List<String> currentList = null;
 
@@ -1832,8 +1890,10 @@ public class YAMLBuilder extends Path {
             if (trimmed.startsWith("- ")) {
                 if (currentListPath != null && currentList != null) {
                     String value = trimmed.substring(2).trim();
-                    value = unquote(value);
-                    currentList.add(value);
+                    Object aliased = value.startsWith("*") ? resolveAnchor(data, value.substring(1), anchorValues) : null;
+                    currentList.add(aliased != null && !(aliased instanceof Map) && !(aliased instanceof List)
+                            ? unwrapValue(aliased).toString()
+                            : unquote(value));
                 }
                 continue;
             } else if (currentListPath != null) {
@@ -1856,12 +1916,45 @@ public class YAMLBuilder extends Path {
             String key = trimmed.substring(0, colonIndex).trim();
             String valueStr = trimmed.substring(colonIndex + 1).trim();
 
+            // Merge key: copy the anchored entries into the current section
+            if (key.equals(MERGE_KEY)) {
+                applyMergeKey(data, buildFullPathFromStack(pathStack), valueStr, anchorValues, mergedPaths);
+                continue;
+            }
+
             // Push current key context
             pathStack.push(key);
             indentStack.push(indent);
 
             String fullPath = buildFullPathFromStack(pathStack);
 
+            // Anchor: &name, optionally followed by the value
+            String rawValueStr = valueStr;
+            String anchor = null;
+            if (valueStr.startsWith("&")) {
+                int end = 1;
+                while (end < valueStr.length() && !Character.isWhitespace(valueStr.charAt(end))) end++;
+                String name = valueStr.substring(1, end);
+                if (ANCHOR_NAME_PATTERN.matcher(name).matches()) {
+                    anchor = name;
+                    valueStr = valueStr.substring(end).trim();
+                    if (valueStr.startsWith("#")) valueStr = "";
+                }
+            }
+
+            // Alias: *name, shares the anchored node
+            if (anchor == null && valueStr.startsWith("*")) {
+                String name = stripInlineComment(valueStr).substring(1);
+                Object aliased = resolveAnchor(data, name, anchorValues);
+                if (aliased != null) {
+                    setValueAtPath(data, fullPath, aliased);
+                    aliasPaths.put(fullPath, name);
+                    pathStack.pop();
+                    indentStack.pop();
+                    continue;
+                }
+            }
+
             if (valueStr.isEmpty()) {
                 String next = nextMeaningfulLine(lines, i + 1);
 
@@ -1871,6 +1964,14 @@ public class YAMLBuilder extends Path {
 
                     if (nextIndent > indent) {
                         // It's a real section (or a list section).Keep it on the stack.
+                        // An explicit section replaces one inherited through a merge key
+                        if (mergedPaths.remove(fullPath)) {
+                            setValueAtPath(data, fullPath, new LinkedHashMap<String, Object>());
+                        }
+                        if (anchor != null) {
+                            anchorPaths.put(fullPath, anchor);
+                            anchorValues.put(anchor, new PendingAnchor(fullPath));
+                        }
                         if (nextTrimmed.startsWith("- ")) {
                             currentListPath = fullPath;
                             currentList = new ArrayList<>();
@@ -1879,6 +1980,11 @@ public class YAMLBuilder extends Path {
                     }
                 }
 
+                // A lone "&text" without children was never an anchor, keep it as a plain value
+                if (anchor != null) {
+                    setValueAtPath(data, fullPath, parseValue(rawValueStr));
+                }
+
                 // Not actually a section with children -> undo the push
                 pathStack.pop();
                 indentStack.pop();
@@ -1929,6 +2035,10 @@ public class YAMLBuilder extends Path {
                 }
 
                 setValueAtPath(data, fullPath, value);
+                if (anchor != null) {
+                    anchorPaths.put(fullPath, anchor);
+                    anchorValues.put(anchor, value);
+                }
 
                 pathStack.pop();
                 indentStack.pop();
@@ -1939,6 +2049,10 @@ public class YAMLBuilder extends Path {
 
             Object value = parseValue(valueStr);
             setValueAtPath(data, fullPath, value);
+            if (anchor != null) {
+                anchorPaths.put(fullPath, anchor);
+                anchorValues.put(anchor, value);
+            }
 
             // Pop after scalar assignment (same as your original)
             pathStack.pop();
@@ -1950,6 +2064,81 @@ public class YAMLBuilder extends Path {
         }
     }
 
+    /**
+     * Resolves an anchor by name, freezing anchored sections on first use.
+     * The frozen node replaces the original so the anchor and all its aliases share one instance.
+     */
+    private Object resolveAnchor(Map<String, Object> data, String name, Map<String, Object> anchorValues) {
+        Object value = anchorValues.get(name);
+        if (value instanceof PendingAnchor pending) {
+            Object node = getValueFromPath(data, pending.path());
+            if (node == null) return null;
+            value = freeze(node);
+            setValueAtPath(data, pending.path(), value);
+            anchorValues.put(name, value);
+        }
+        return value;
+    }
+
+    /**
+     * Applies a merge key ({@code <<: *name} or {@code <<: [*a, *b]}) to a section.
+     * Keys already present in the section win over merged ones, as do keys declared later.
+     */
+    @SuppressWarnings("unchecked")
+    private void applyMergeKey(Map<String, Object> data, String sectionPath, String valueStr,
+                               Map<String, Object> anchorValues, Set<String> mergedPaths) {
+        String refs = stripInlineComment(valueStr);
+        if (refs.startsWith("[") && refs.endsWith("]")) {
+            refs = refs.substring(1, refs.length() - 1);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String ref : refs.split(",")) {
+            ref = ref.trim();
+            if (!ref.startsWith("*")) continue;
+            String name = ref.substring(1);
+            if (!(resolveAnchor(data, name, anchorValues) instanceof Map<?, ?> merged)) continue;
+            names.add(name);
+
+            if (sectionPath.isEmpty()) {
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) merged).entrySet()) {
+                    if (data.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                        mergedPaths.add(entry.getKey());
+                    }
+                }
+                continue;
+            }
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) merged).entrySet()) {
+                String childPath = sectionPath + "." + entry.getKey();
+                if (getValueFromPath(data, childPath) == null) {
+                    setValueAtPath(data, childPath, entry.getValue());
+                    mergedPaths.add(childPath);
+                }
+            }
+        }
+        if (!names.isEmpty()) {
+            mergeKeys.put(sectionPath, names);
+        }
+    }
+
+    /**
+     * Creates a deeply immutable copy of a parsed node.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object node) {
+        if (node instanceof LinkedHashMap<?, ?> map) {
+            Map<String, Object> frozen = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+                frozen.put(entry.getKey(), freeze(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(frozen);
+        }
+        if (node instanceof ArrayList<?> list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+        return node;
+    }
+
     private String buildFullPathFromStack(Deque<String> pathStack) {
         String[] parts = pathStack.toArray(new String[0]);
         StringBuilder reversedPath = new StringBuilder();
@@ -2115,22 +2304,34 @@ public class YAMLBuilder extends Path {
     /**
      * Sets a value in a nested map using dot notation path.
      */
-    @SuppressWarnings("unchecked")
     private void setValueAtPath(Map<String, Object> data, String path, Object value) {
         String[] parts = path.split("\\.");
         Map<String, Object> current = data;
 
         for (int i = 0; i < parts.length - 1; i++) {
-            String part = parts[i];
-            if (! current.containsKey(part) || !(current.get(part) instanceof Map)) {
-                current.put(part, new LinkedHashMap<String, Object>());
-            }
-            current = (Map<String, Object>) current.get(part);
+            current = mutableChild(current, parts[i]);
         }
 
         current.put(parts[parts.length - 1], value);
     }
 
+    /**
+     * Gets a child section that is safe to modify, creating it if missing.
+     * Shared (aliased) sections are copied first so the anchor and other aliases stay untouched.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mutableChild(Map<String, Object> parent, String key) {
+        Object child = parent.get(key);
+        if (child instanceof LinkedHashMap) {
+            return (Map<String, Object>) child;
+        }
+        Map<String, Object> copy = child instanceof Map
+                ? new LinkedHashMap<>((Map<String, Object>) child)
+                : new LinkedHashMap<>();
+        parent.put(key, copy);
+        return copy;
+    }
+
     /**
      * Removes a value from a nested map using dot notation path.
      */
@@ -2142,9 +2343,8 @@ public class YAMLBuilder extends Path {
 
         for (int i = 0; i < parts.length - 1; i++) {
             String part = parts[i];
-            Object next = current.get(part);
-            if (next instanceof Map) {
-                current = (Map<String, Object>) next;
+            if (current.get(part) instanceof Map) {
+                current = mutableChild(current, part);
             } else {
                 return;
             }
@@ -2210,7 +2410,7 @@ public class YAMLBuilder extends Path {
         Set<String> writtenPaths = new HashSet<>();
 
         // Write data
-        writeMap(sb, data, 0, "", null, writtenPaths);
+        writeMap(sb, data, 0, "", null, writtenPaths, new HashMap<>());
 
         // Write footer
         if (footer != null && footer.length > 0) {
@@ -2237,11 +2437,31 @@ public class YAMLBuilder extends Path {
      */
     @SuppressWarnings("unchecked")
     private void writeMap(StringBuilder sb, Map<String, Object> map, int indent,
-                          String pathPrefix, String previousTopSection, Set<String> writtenPaths) {
+                          String pathPrefix, String previousTopSection, Set<String> writtenPaths,
+                          Map<String, Object> writtenAnchors) {
         String indentStr = repeat("  ", indent);
         boolean isTopLevel = indent == 0;
         String lastTopSection = previousTopSection;
 
+        // Re-emit merge keys, entries still equal to the merged ones are covered by them
+        Map<String, Object> merged = new HashMap<>();
+        List<String> mergeNames = mergeKeys.get(pathPrefix);
+        if (mergeNames != null) {
+            List<String> refs = new ArrayList<>();
+            for (String name : mergeNames) {
+                if (!(writtenAnchors.get(name) instanceof Map<?, ?> anchored)) continue;
+                refs.add("*" + name);
+                for (Map.Entry<?, ?> entry : anchored.entrySet()) {
+                    merged.putIfAbsent(entry.getKey().toString(), entry.getValue());
+                }
+            }
+            if (refs.size() == 1) {
+                sb.append(indentStr).append(MERGE_KEY).append(": ").append(refs.get(0)).append("\n");
+            } else if (!refs.isEmpty()) {
+                sb.append(indentStr).append(MERGE_KEY).append(": [").append(String.join(", ", refs)).append("]\n");
+            }
+        }
+
         for (Map.Entry<String, Object> entry :  map.entrySet()) {
             String key = entry.getKey();
             Object value = entry.getValue();
@@ -2250,6 +2470,7 @@ public class YAMLBuilder extends Path {
 
             // Skip voided paths
             if (isVoided(fullPath)) continue;
+            if (merged.containsKey(key) && Objects.equals(merged.get(key), value)) continue;
 
             // Add blank line between different top-level sections
             if (isTopLevel && lastTopSection != null && !lastTopSection.equals(key)) {
@@ -2286,14 +2507,27 @@ public class YAMLBuilder extends Path {
                 }
             }
 
+            String alias = aliasPaths.get(fullPath);
+            String anchor = anchorPaths.get(fullPath);
+            String anchorStr = anchor != null ? " &" + anchor : "";
+            if (alias != null && writtenAnchors.containsKey(alias) && Objects.equals(writtenAnchors.get(alias), value)) {
+                sb.append(indentStr).append(key).append(": *").append(alias).append("\n");
+                writtenPaths.add(fullPath);
+                lastTopSection = currentTopSection;
+                continue;
+            }
+            if (anchor != null) {
+                writtenAnchors.put(anchor, value);
+            }
+
             if (value instanceof Map) {
-                sb.append(indentStr).append(key).append(":\n");
-                writeMap(sb, (Map<String, Object>) value, indent + 1, fullPath, currentTopSection, writtenPaths);
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append("\n");
+                writeMap(sb, (Map<String, Object>) value, indent + 1, fullPath, currentTopSection, writtenPaths, writtenAnchors);
             } else if (value instanceof List<?> list) {
                 if (list.isEmpty()) {
-                    sb.append(indentStr).append(key).append(": []\n");
+                    sb.append(indentStr).append(key).append(":").append(anchorStr).append(" []\n");
                 } else {
-                    sb.append(indentStr).append(key).append(":\n");
+                    sb.append(indentStr).append(key).append(":").append(anchorStr).append("\n");
                     String listIndentStr = repeat("  ", indent + 1);
                     for (Object item : list) {
                         sb.append(listIndentStr)
@@ -2303,20 +2537,20 @@ public class YAMLBuilder extends Path {
                     }
                 }
             } else if (value instanceof MultiLineString mls) {
-                sb.append(indentStr).append(key).append(": |-\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" |-\n");
                 for (String line : mls.lines) {
                     sb.append(indentStr).append("  ").append(line).append("\n");
                 }
             } else if (value instanceof String) {
-                sb.append(indentStr).append(key).append(": \"").append(escapeString((String) value)).append("\"\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" \"").append(escapeString((String) value)).append("\"\n");
             } else if (value instanceof Double || value instanceof Float) {
-                sb.append(indentStr).append(key).append(": ").append(value).append("\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" ").append(value).append("\n");
             } else if (value instanceof Number) {
-                sb.append(indentStr).append(key).append(": ").append(value).append("\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" ").append(value).append("\n");
             } else if (value instanceof Boolean) {
-                sb.append(indentStr).append(key).append(": ").append(value).append("\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" ").append(value).append("\n");
             } else {
-                sb.append(indentStr).append(key).append(": \"").append(escapeString(value.toString())).append("\"\n");
+                sb.append(indentStr).append(key).append(":").append(anchorStr).append(" \"").append(escapeString(value.toString())).append("\"\n");
             }
 
             writtenPaths.add(fullPath);
@@ -2361,6 +2595,12 @@ public class YAMLBuilder extends Path {
     private record MultiLineString(String[] lines) {
     }
 
+    /**
+     * Marks an anchored section that hasn't been aliased yet.
+     */
+    private record PendingAnchor(String path) {
+    }
+
     public static class YAMLSection {
         private final YAMLBuilder parent;
         private final String basePath;
@@ -0,0 +1,251 @@
+package me.yleoft.zAPI.handlers;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Declarative cache for the results of a {@link PlaceholdersHandler}.
+ *
+ * <p>A handler keeps one PlaceholderCache, marks its expensive placeholders with a TTL and a {@link Scope},
+ * and returns it from {@link PlaceholdersHandler#getCache()}:</p>
+ * <pre>{@code
+ * private final PlaceholderCache cache = new PlaceholderCache()
+ *         .cache("balance", Duration.ofSeconds(5), PlaceholderCache.Scope.PLAYER)
+ *         .cache("top_*", Duration.ofSeconds(30), PlaceholderCache.Scope.GLOBAL);
+ * }</pre>
+ *
+ * <p>On top of that, while a render pass is open (see {@link #beginRenderPass()}), every placeholder of every
+ * handler is resolved at most once per player, so building one inventory runs each distinct placeholder once.
+ * Player entries are dropped when the player quits.</p>
+ *
+ * <p>Expired results are purged at most once per second, and the cache holds at most {@link #maxSize(int)} results,
+ * dropping the ones closest to expiring first.</p>
+ */
+public class PlaceholderCache {
+
+    private static final Set<PlaceholderCache> CACHES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ThreadLocal<Map<Key, Optional<String>>> RENDER_PASS = new ThreadLocal<>();
+    private static final int PURGE_THRESHOLD = 4096;
+    private static final long PURGE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Default maximum amount of cached results.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+    private final List<Rule> prefixRules = new CopyOnWriteArrayList<>();
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private volatile long nextPurge = System.nanoTime();
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * The lifetime of a cached placeholder result.
+     */
+    public enum Scope {
+        /** One result shared by every player. */
+        GLOBAL,
+        /** One result per player. */
+        PLAYER,
+        /** One result per player, kept only until the current render pass ends. */
+        RENDER_PASS
+    }
+
+    /**
+     * Creates a new PlaceholderCache.
+     */
+    public PlaceholderCache() {
+        CACHES.add(this);
+    }
+
+    /**
+     * Marks a placeholder as cached.
+     * @param params The placeholder params (the part after the identifier prefix), ending with {@code *} to match a prefix.
+     * @param ttl How long a result stays cached, ignored for {@link Scope#RENDER_PASS}.
+     * @param scope The scope of the cached results.
+     * @return This PlaceholderCache for chaining
+     */
+    public PlaceholderCache cache(@NotNull String params, @NotNull Duration ttl, @NotNull Scope scope) {
+        if (params.endsWith("*")) {
+            prefixRules.add(new Rule(params.substring(0, params.length() - 1), ttl.toNanos(), scope));
+        } else {
+            rules.put(params, new Rule(params, ttl.toNanos(), scope));
+        }
+        return this;
+    }
+
+    /**
+     * Limits the amount of cached results, the ones closest to expiring are dropped first.
+     * @param maxSize The maximum amount of results, {@link #DEFAULT_MAX_SIZE} by default.
+     * @return This PlaceholderCache for chaining
+     */
+    public PlaceholderCache maxSize(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        return this;
+    }
+
+    /**
+     * Gets the amount of cached results, expired ones included until they are purged.
+     * @return The amount of results
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resolves a placeholder through the cache, asking the handler only on a miss.
+     * @param handler The handler resolving the placeholder.
+     * @param player The player to apply placeholders for.
+     * @param params The placeholder params.
+     * @return The result, or null if the handler doesn't know the placeholder.
+     */
+    @Nullable
+    public String resolve(@NotNull PlaceholdersHandler handler, @Nullable OfflinePlayer player, @NotNull String params) {
+        Rule rule = findRule(params);
+        if (rule == null || rule.scope == Scope.RENDER_PASS) {
+            return resolveInRenderPass(handler, player, params);
+        }
+
+        Key key = new Key(handler.getIdentifier(), rule.scope == Scope.PLAYER && player != null ? player.getUniqueId() : null, params);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.value;
+        }
+
+        String value = handler.applyHookPlaceholders(player, params);
+        int size = entries.size();
+        if (size >= maxSize || (size > PURGE_THRESHOLD && now - nextPurge >= 0)) purge(now);
+        entries.put(key, new Entry(value, now + rule.ttl));
+        return value;
+    }
+
+    /**
+     * Resolves a placeholder once per render pass, or directly if no render pass is open.
+     * @param handler The handler resolving the placeholder.
+     * @param player The player to apply placeholders for.
+     * @param params The placeholder params.
+     * @return The result, or null if the handler doesn't know the placeholder.
+     */
+    @Nullable
+    public static String resolveInRenderPass(@NotNull PlaceholdersHandler handler, @Nullable OfflinePlayer player, @NotNull String params) {
+        Map<Key, Optional<String>> pass = RENDER_PASS.get();
+        if (pass == null) return handler.applyHookPlaceholders(player, params);
+
+        Key key = new Key(handler.getIdentifier(), player != null ? player.getUniqueId() : null, params);
+        Optional<String> value = pass.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(handler.applyHookPlaceholders(player, params));
+            pass.put(key, value);
+        }
+        return value.orElse(null);
+    }
+
+    /**
+     * Opens a render pass on the current thread, to be closed with try-with-resources.
+     * Nested passes share the outermost one.
+     * @return The render pass.
+     */
+    @NotNull
+    public static RenderPass beginRenderPass() {
+        if (RENDER_PASS.get() != null) return RenderPass.NESTED;
+        RENDER_PASS.set(new HashMap<>());
+        return RenderPass.OUTER;
+    }
+
+    private Rule findRule(String params) {
+        Rule rule = rules.get(params);
+        if (rule != null || prefixRules.isEmpty()) return rule;
+        for (Rule prefixRule : prefixRules) {
+            if (params.startsWith(prefixRule.params)) return prefixRule;
+        }
+        return null;
+    }
+
+    // Drops expired results, then the ones closest to expiring down to 3/4 of maxSize, so a full cache purges again
+    // only after a quarter of maxSize misses. Threads finding a purge running skip it.
+    private void purge(long now) {
+        if (!purging.compareAndSet(false, true)) return;
+        try {
+            nextPurge = now + PURGE_INTERVAL;
+            entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+
+            int max = maxSize;
+            if (entries.size() < max) return;
+            List<Map.Entry<Key, Entry>> oldest = new ArrayList<>(entries.entrySet());
+            oldest.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt - now));
+            int excess = oldest.size() - (max - max / 4);
+            for (int i = 0; i < excess; i++) {
+                entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+            }
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    /**
+     * Removes every cached result of a placeholder.
+     * @param params The placeholder params.
+     */
+    public void invalidate(@NotNull String params) {
+        entries.keySet().removeIf(key -> key.params.equals(params));
+    }
+
+    /**
+     * Removes every cached result of a player.
+     * @param uuid The player's UUID.
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        entries.keySet().removeIf(key -> uuid.equals(key.player));
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Removes the cached results of a player from every PlaceholderCache, e.g. after they quit.
+     * @param uuid The player's UUID.
+     */
+    public static void invalidatePlayer(@NotNull UUID uuid) {
+        synchronized (CACHES) {
+            for (PlaceholderCache cache : CACHES) {
+                cache.invalidate(uuid);
+            }
+        }
+    }
+
+    /**
+     * A render pass, closing it drops the results cached during it.
+     */
+    public enum RenderPass implements AutoCloseable {
+        OUTER,
+        NESTED;
+
+        @Override
+        public void close() {
+            if (this == OUTER) RENDER_PASS.remove();
+        }
+    }
+
+    private record Rule(String params, long ttl, Scope scope) {
+    }
+
+    private record Key(String identifier, UUID player, String params) {
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
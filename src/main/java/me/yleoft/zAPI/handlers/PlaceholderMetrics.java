@@ -0,0 +1,289 @@
+package me.yleoft.zAPI.handlers;
+
+import me.yleoft.zAPI.command.SubCommand;
+import me.yleoft.zAPI.zAPI;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Call counts and latency histograms of placeholder resolution, per source and placeholder.
+ *
+ * <p>Disabled by default, in which case recording costs a single volatile read. Once enabled,
+ * counters are striped {@link LongAdder}s, so threads resolving placeholders at once don't contend.</p>
+ * <pre>{@code
+ * PlaceholderMetrics.setEnabled(true);
+ * // ... open the slow menu ...
+ * PlaceholderMetrics.report(10).forEach(zAPI.getLogger()::info);
+ * }</pre>
+ */
+public abstract class PlaceholderMetrics {
+
+    private static final int MAX_KEYS = 4096;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final String OTHER_KEY = "<other>";
+    private static final int BUCKETS = 24;
+
+    private static final Map<Source, Map<String, Stats>> STATS = new EnumMap<>(Source.class);
+    private static volatile boolean enabled;
+    private static final LongSupplier SYSTEM_CLOCK = System::nanoTime;
+    private static volatile LongSupplier clock = SYSTEM_CLOCK;
+
+    static {
+        for (Source source : Source.values()) {
+            STATS.put(source, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Where the time was spent.
+     */
+    public enum Source {
+        /** Placeholders resolved by {@code TextFormatter}, every source included, keyed by the {@code %token%}s of the text. */
+        FORMATTER,
+        /** A placeholder of a zAPI {@link PlaceholdersHandler}, keyed by its params. */
+        HANDLER,
+        /** Placeholders resolved by PlaceholderAPI, keyed by the {@code %token%}s of the text. */
+        PAPI
+    }
+
+    /**
+     * Checks if placeholder resolution is being recorded.
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops recording placeholder resolution.
+     * @param enabled true to record
+     */
+    public static void setEnabled(boolean enabled) {
+        PlaceholderMetrics.enabled = enabled;
+    }
+
+    /**
+     * Sets the clock calls are timed with, e.g. a fake one in tests.
+     * @param clock The clock returning nanoseconds, or null for {@link System#nanoTime()}
+     */
+    public static void setClock(@Nullable LongSupplier clock) {
+        PlaceholderMetrics.clock = clock != null ? clock : SYSTEM_CLOCK;
+    }
+
+    /**
+     * Starts timing a call.
+     * @return The start time to pass to {@link #record(Source, String, long)}, or 0 if disabled
+     */
+    public static long start() {
+        return enabled ? clock.getAsLong() : 0L;
+    }
+
+    /**
+     * Records a call started with {@link #start()}.
+     * Texts given to {@link Source#FORMATTER} and {@link Source#PAPI} are keyed by the {@code %token%}s they hold,
+     * so lines sharing the same placeholders add up under one key.
+     * @param source Where the time was spent
+     * @param key The placeholder or text resolved
+     * @param start The value returned by {@link #start()}
+     */
+    public static void record(@NotNull Source source, @NotNull String key, long start) {
+        if (start == 0L || !enabled) return;
+        long nanos = clock.getAsLong() - start;
+
+        if (source != Source.HANDLER) key = tokensOf(key);
+
+        Map<String, Stats> stats = STATS.get(source);
+        if (key.length() > MAX_KEY_LENGTH) key = key.substring(0, MAX_KEY_LENGTH) + "...";
+        Stats entry = stats.get(key);
+        if (entry == null) {
+            if (stats.size() >= MAX_KEYS) key = OTHER_KEY;
+            entry = stats.computeIfAbsent(key, k -> new Stats());
+        }
+        entry.record(nanos);
+    }
+
+    private static String tokensOf(String text) {
+        int start = text.indexOf('%');
+        if (start < 0) return text;
+        StringBuilder sb = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        for (int i = start; i < text.length(); i++) {
+            if (text.charAt(i) != '%') continue;
+            int end = text.indexOf('%', i + 1);
+            if (end < 0) break;
+            if (end == i + 1) continue;
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(text, i, end + 1);
+            i = end;
+        }
+        return sb.isEmpty() ? text : sb.toString();
+    }
+
+    /**
+     * Removes everything recorded so far.
+     */
+    public static void reset() {
+        for (Map<String, Stats> stats : STATS.values()) {
+            stats.clear();
+        }
+    }
+
+    /**
+     * Takes a snapshot of everything recorded so far.
+     * @return The snapshots, sorted by total time spent, highest first
+     */
+    @NotNull
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<Source, Map<String, Stats>> source : STATS.entrySet()) {
+            for (Map.Entry<String, Stats> entry : source.getValue().entrySet()) {
+                snapshots.add(entry.getValue().snapshot(source.getKey(), entry.getKey()));
+            }
+        }
+        snapshots.sort(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Formats the most expensive placeholders, one line each.
+     * @param limit The maximum amount of placeholders
+     * @return The report lines, sorted by total time spent
+     */
+    @NotNull
+    public static List<String> report(int limit) {
+        List<Snapshot> snapshots = snapshot();
+        List<String> lines = new ArrayList<>(Math.min(limit, snapshots.size()) + 1);
+        lines.add(String.format(Locale.ROOT, "%-9s %-32s %9s %10s %9s %9s %9s",
+                "source", "placeholder", "calls", "total ms", "avg us", "p99 us", "max us"));
+        for (int i = 0; i < snapshots.size() && i < limit; i++) {
+            Snapshot snapshot = snapshots.get(i);
+            lines.add(String.format(Locale.ROOT, "%-9s %-32s %9d %10.2f %9.1f %9d %9d",
+                    snapshot.source().name().toLowerCase(Locale.ROOT), snapshot.key(), snapshot.calls(),
+                    snapshot.totalNanos() / 1_000_000D, snapshot.averageMicros(),
+                    snapshot.percentileMicros(0.99D), snapshot.maxNanos() / 1000L));
+        }
+        return lines;
+    }
+
+    /**
+     * Creates a sub-command showing the report, to add under a plugin command.
+     * Usage: {@code placeholders [on|off|reset|<limit>]}.
+     * @param permission The permission needed to run it, or null for none
+     * @return The sub-command
+     */
+    @NotNull
+    public static SubCommand subCommand(@Nullable String permission) {
+        return new SubCommand() {
+            @Override
+            public @NotNull String name() {
+                return "placeholders";
+            }
+
+            @Override
+            public String description() {
+                return "Shows the slowest placeholders";
+            }
+
+            @Override
+            public String permission() {
+                return permission;
+            }
+
+            @Override
+            public void execute(@NotNull CommandSender sender, @NotNull String[] fullArgs, @NotNull String @NotNull [] args) {
+                String arg = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "";
+                switch (arg) {
+                    case "on", "off" -> {
+                        setEnabled(arg.equals("on"));
+                        sender.sendMessage(zAPI.getMiniMessage().deserialize("<gray>Placeholder metrics " + (enabled ? "enabled" : "disabled") + "."));
+                    }
+                    case "reset" -> {
+                        reset();
+                        sender.sendMessage(zAPI.getMiniMessage().deserialize("<gray>Placeholder metrics reset."));
+                    }
+                    default -> {
+                        int limit = arg.matches("\\d+") ? Integer.parseInt(arg) : 10;
+                        if (!enabled) {
+                            sender.sendMessage(zAPI.getMiniMessage().deserialize("<yellow>Placeholder metrics are disabled, enable them with 'on'."));
+                        }
+                        for (String line : report(limit)) {
+                            sender.sendMessage(zAPI.getMiniMessage().deserialize("<gray><font:uniform>" + zAPI.getMiniMessage().escapeTags(line)));
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Recorded stats of one placeholder.
+     * @param source Where the time was spent
+     * @param key The placeholder or placeholders resolved
+     * @param calls The amount of calls
+     * @param totalNanos The total time spent, in nanoseconds
+     * @param maxNanos The slowest call, in nanoseconds
+     * @param histogram Call counts per latency bucket, bucket {@code i} holding calls under {@code 2^i} microseconds
+     */
+    public record Snapshot(@NotNull Source source, @NotNull String key, long calls, long totalNanos, long maxNanos,
+                           long @NotNull [] histogram) {
+
+        /**
+         * Gets the average time of a call.
+         * @return The average time in microseconds
+         */
+        public double averageMicros() {
+            return calls == 0 ? 0D : totalNanos / 1000D / calls;
+        }
+
+        /**
+         * Estimates a latency percentile from the histogram.
+         * @param quantile The percentile, between 0 and 1
+         * @return The upper bound of the bucket holding the percentile, in microseconds
+         */
+        public long percentileMicros(double quantile) {
+            long target = (long) Math.ceil(calls * quantile);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= target && seen > 0) return 1L << i;
+            }
+            return 1L << (histogram.length - 1);
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        private Stats() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            long micros = nanos / 1000L;
+            int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+            histogram[Math.min(bucket, BUCKETS - 1)].increment();
+        }
+
+        private Snapshot snapshot(Source source, String key) {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram[i].sum();
+            }
+            return new Snapshot(source, key, calls.sum(), totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+}
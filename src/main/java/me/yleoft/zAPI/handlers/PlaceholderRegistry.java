@@ -0,0 +1,309 @@
+package me.yleoft.zAPI.handlers;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A {@link PlaceholdersHandler} that dispatches placeholders through a table of bound sub-keys
+ * instead of a chain of {@code if}/{@code switch} checks.
+ *
+ * <p>Sub-keys are split on {@code _}. A segment written as {@code <name>} or {@code <name:type>} is an
+ * argument, parsed before the resolver is called (types are {@code string}, {@code int}, {@code long} and
+ * {@code double}). A trailing string argument also matches the rest of the params, underscores included.</p>
+ * <pre>{@code
+ * PlaceholderRegistry registry = new PlaceholderRegistry("myplugin")
+ *         .register("balance", player -> economy.getBalance(player))
+ *         .register("top_<n:int>_name", (player, args) -> top.getName(args.getInt("n")))
+ *         .register("stats_<player>", (player, args) -> stats.get(args.getString("player")));
+ * zAPI.setPlaceholdersHandler(registry);
+ * }</pre>
+ *
+ * <p>Keys without arguments are found with a single hash lookup, the others by walking a trie one segment
+ * at a time, so dispatch takes time proportional to the length of the params rather than the amount
+ * of registered placeholders.</p>
+ */
+public class PlaceholderRegistry implements PlaceholdersHandler {
+
+    private final String identifier;
+    private final Map<String, Binding> exact = new ConcurrentHashMap<>();
+    private volatile Node root = new Node();
+    private int maxArguments;
+
+    /**
+     * Creates a new PlaceholderRegistry.
+     * @param identifier The identifier prefix of the placeholders, e.g. {@code myplugin} for {@code %myplugin_balance%}
+     */
+    public PlaceholderRegistry(@NotNull String identifier) {
+        this.identifier = identifier;
+    }
+
+    @Override
+    public @NotNull String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Binds a sub-key to a resolver.
+     * @param key The sub-key, e.g. {@code top_<n:int>_name}
+     * @param resolver The resolver, getting the parsed arguments
+     * @return This PlaceholderRegistry for chaining
+     * @throws IllegalArgumentException if the key has a malformed argument, an unknown type,
+     *                                  or an argument typed differently than another one at the same position
+     */
+    public synchronized PlaceholderRegistry register(@NotNull String key, @NotNull Resolver resolver) {
+        String[] segments = key.split("_", -1);
+        List<String> names = new ArrayList<>();
+        Node copy = root.copy();
+        Node node = copy;
+        for (String segment : segments) {
+            if (segment.startsWith("<") && segment.endsWith(">") && segment.length() > 2) {
+                String[] spec = segment.substring(1, segment.length() - 1).split(":", 2);
+                ArgumentType type = spec.length == 1 ? ArgumentType.STRING : ArgumentType.of(spec[1]);
+                if (node.argument != null && node.argumentType != type) {
+                    throw new IllegalArgumentException("Conflicting argument types in placeholder key: " + key);
+                }
+                names.add(spec[0]);
+                node.argumentType = type;
+                node.argument = node.argument == null ? new Node() : node.argument.copy();
+                node = node.argument;
+            } else if (segment.indexOf('<') >= 0 || segment.indexOf('>') >= 0) {
+                throw new IllegalArgumentException("Malformed argument in placeholder key: " + key);
+            } else {
+                Node child = node.literals.get(segment);
+                child = child == null ? new Node() : child.copy();
+                node.literals.put(segment, child);
+                node = child;
+            }
+        }
+
+        Binding binding = new Binding(resolver, names.toArray(new String[0]));
+        if (names.isEmpty()) {
+            exact.put(key, binding);
+        } else {
+            node.binding = binding;
+            maxArguments = Math.max(maxArguments, names.size());
+            root = copy;
+        }
+        return this;
+    }
+
+    /**
+     * Binds a sub-key without arguments to a resolver.
+     * @param key The sub-key, e.g. {@code balance}
+     * @param resolver The resolver, its result is turned into a string
+     * @return This PlaceholderRegistry for chaining
+     */
+    public PlaceholderRegistry register(@NotNull String key, @NotNull Function<OfflinePlayer, Object> resolver) {
+        return register(key, (player, args) -> {
+            Object value = resolver.apply(player);
+            return value == null ? null : value.toString();
+        });
+    }
+
+    /**
+     * Resolves a placeholder through the bound sub-keys.
+     * @param player The player to apply placeholders for
+     * @param params The placeholder params (the part after the identifier prefix)
+     * @return The replacement, or null if no sub-key matches
+     */
+    @Override
+    public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+        Binding binding = exact.get(params);
+        if (binding != null) return binding.resolver.resolve(player, Arguments.EMPTY);
+
+        Node root = this.root;
+        Object[] values = new Object[maxArguments];
+        binding = match(root, params, 0, values, 0);
+        if (binding == null) return null;
+        return binding.resolver.resolve(player, new Arguments(binding.names, values));
+    }
+
+    private static Binding match(Node node, String params, int start, Object[] values, int argument) {
+        int length = params.length();
+        if (start > length) return node.binding;
+
+        int end = params.indexOf('_', start);
+        if (end < 0) end = length;
+
+        if (!node.literals.isEmpty()) {
+            Node child = node.literals.get(params.substring(start, end));
+            if (child != null) {
+                Binding binding = match(child, params, end + 1, values, argument);
+                if (binding != null) return binding;
+            }
+        }
+
+        Node child = node.argument;
+        if (child == null) return null;
+        Object value = node.argumentType.parse(params.substring(start, end));
+        if (value != null) {
+            values[argument] = value;
+            Binding binding = match(child, params, end + 1, values, argument + 1);
+            if (binding != null) return binding;
+        }
+        // A trailing string argument takes the rest of the params, underscores included
+        if (end < length && node.argumentType == ArgumentType.STRING && child.binding != null) {
+            values[argument] = params.substring(start);
+            return child.binding;
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a bound placeholder.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * Resolves a placeholder.
+         * @param player The player to apply placeholders for
+         * @param args The parsed arguments of the sub-key
+         * @return The replacement, or null if not handled
+         */
+        @Nullable
+        String resolve(@Nullable OfflinePlayer player, @NotNull Arguments args);
+    }
+
+    /**
+     * The parsed arguments of a matched sub-key.
+     */
+    public static final class Arguments {
+
+        private static final Arguments EMPTY = new Arguments(new String[0], new Object[0]);
+
+        private final String[] names;
+        private final Object[] values;
+
+        private Arguments(String[] names, Object[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        /**
+         * Gets the amount of arguments.
+         * @return The amount of arguments
+         */
+        public int size() {
+            return names.length;
+        }
+
+        /**
+         * Gets an argument by position.
+         * @param index The position of the argument in the sub-key
+         * @return The parsed value
+         */
+        @NotNull
+        public Object get(int index) {
+            if (index < 0 || index >= names.length) throw new IndexOutOfBoundsException(index);
+            return values[index];
+        }
+
+        /**
+         * Gets an argument by name.
+         * @param name The name of the argument
+         * @return The parsed value
+         * @throws IllegalArgumentException if the sub-key has no argument with that name
+         */
+        @NotNull
+        public Object get(@NotNull String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) return values[i];
+            }
+            throw new IllegalArgumentException("Unknown placeholder argument: " + name);
+        }
+
+        /**
+         * Gets a string argument, or any argument as a string.
+         * @param name The name of the argument
+         * @return The value
+         */
+        @NotNull
+        public String getString(@NotNull String name) {
+            return get(name).toString();
+        }
+
+        /**
+         * Gets an {@code int} argument.
+         * @param name The name of the argument
+         * @return The value
+         */
+        public int getInt(@NotNull String name) {
+            return ((Number) get(name)).intValue();
+        }
+
+        /**
+         * Gets a {@code long} argument.
+         * @param name The name of the argument
+         * @return The value
+         */
+        public long getLong(@NotNull String name) {
+            return ((Number) get(name)).longValue();
+        }
+
+        /**
+         * Gets a {@code double} argument.
+         * @param name The name of the argument
+         * @return The value
+         */
+        public double getDouble(@NotNull String name) {
+            return ((Number) get(name)).doubleValue();
+        }
+    }
+
+    private enum ArgumentType {
+        STRING, INT, LONG, DOUBLE;
+
+        static ArgumentType of(String name) {
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "string", "str" -> STRING;
+                case "int", "integer" -> INT;
+                case "long" -> LONG;
+                case "double", "number" -> DOUBLE;
+                default -> throw new IllegalArgumentException("Unknown placeholder argument type: " + name);
+            };
+        }
+
+        @Nullable
+        Object parse(String segment) {
+            if (segment.isEmpty()) return null;
+            try {
+                return switch (this) {
+                    case STRING -> segment;
+                    case INT -> Integer.parseInt(segment);
+                    case LONG -> Long.parseLong(segment);
+                    case DOUBLE -> Double.parseDouble(segment);
+                };
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A trie node. Registration copies the path it changes and publishes a new root,
+     * so lookups never see a half-built node.
+     */
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node argument;
+        private ArgumentType argumentType;
+        private Binding binding;
+
+        private Node copy() {
+            Node copy = new Node();
+            copy.literals.putAll(literals);
+            copy.argument = argument;
+            copy.argumentType = argumentType;
+            copy.binding = binding;
+            return copy;
+        }
+    }
+
+    private record Binding(Resolver resolver, String[] names) {
+    }
+}
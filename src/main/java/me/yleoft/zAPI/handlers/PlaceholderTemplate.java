@@ -0,0 +1,149 @@
+package me.yleoft.zAPI.handlers;
+
+import me.yleoft.zAPI.utility.BoundedCache;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A text compiled into literal segments and the params of a handler's placeholders ({@code %identifier_params%}).
+ * Templates are cached per identifier in a bounded LRU, so a text is only scanned once.
+ */
+public final class PlaceholderTemplate {
+
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, BoundedCache<String, PlaceholderTemplate>> CACHES = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final String[] literals;
+    private final String[] params;
+    private final int literalLength;
+
+    private PlaceholderTemplate(String text, String[] literals, String[] params) {
+        this.text = text;
+        this.literals = literals;
+        this.params = params;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Gets the compiled template of a text, from the cache if possible.
+     * @param identifier The handler identifier.
+     * @param text The text.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static PlaceholderTemplate of(@NotNull String identifier, @NotNull String text) {
+        return CACHES.computeIfAbsent(identifier, id -> new BoundedCache<>(CACHE_SIZE))
+                .get(text, t -> compile(identifier, t));
+    }
+
+    /**
+     * Compiles a text without caching it.
+     * @param identifier The handler identifier.
+     * @param text The text.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static PlaceholderTemplate compile(@NotNull String identifier, @NotNull String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> params = new ArrayList<>();
+
+        int literalStart = 0;
+        int start = find(text, identifier, 0);
+        while (start >= 0) {
+            int paramsStart = start + identifier.length() + 2;
+            int end = text.indexOf('%', paramsStart);
+            if (end < 0) break;
+            if (end == paramsStart) {
+                // "%identifier_%" has no params, keep looking after it
+                start = find(text, identifier, start + 1);
+                continue;
+            }
+            literals.add(text.substring(literalStart, start));
+            params.add(text.substring(paramsStart, end));
+            literalStart = end + 1;
+            start = find(text, identifier, literalStart);
+        }
+        literals.add(text.substring(literalStart));
+
+        return new PlaceholderTemplate(text, literals.toArray(new String[0]), params.toArray(new String[0]));
+    }
+
+    /**
+     * Checks if a text may contain a placeholder of a handler, without allocating anything.
+     * @param text The text.
+     * @param identifier The handler identifier.
+     * @return true if the text contains {@code %identifier_}.
+     */
+    public static boolean mayContain(@NotNull String text, @NotNull String identifier) {
+        return find(text, identifier, 0) >= 0;
+    }
+
+    private static int find(String text, String identifier, int from) {
+        int length = identifier.length();
+        int i = text.indexOf('%', from);
+        while (i >= 0) {
+            if (text.regionMatches(i + 1, identifier, 0, length)
+                    && i + length + 1 < text.length()
+                    && text.charAt(i + length + 1) == '_') {
+                return i;
+            }
+            i = text.indexOf('%', i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Clears the cached templates of a handler.
+     * @param identifier The handler identifier.
+     */
+    public static void clearCache(@NotNull String identifier) {
+        CACHES.remove(identifier);
+    }
+
+    /**
+     * Renders this template through a handler.
+     * Unknown placeholders are replaced with an empty string.
+     * @param handler The handler resolving the placeholders.
+     * @param player The player to apply placeholders for.
+     * @return The rendered text.
+     */
+    @NotNull
+    public String render(@NotNull PlaceholdersHandler handler, @Nullable OfflinePlayer player) {
+        if (params.length == 0) return text;
+
+        StringBuilder sb = new StringBuilder(literalLength + params.length * 16);
+        for (int i = 0; i < params.length; i++) {
+            sb.append(literals[i]);
+            String replacement = handler.resolvePlaceholder(player, params[i]);
+            if (replacement != null) sb.append(replacement);
+        }
+        return sb.append(literals[params.length]).toString();
+    }
+
+    /**
+     * Gets the params of every placeholder in this template, in order.
+     * @return The params, e.g. {@code balance} for {@code %myplugin_balance%}.
+     */
+    @NotNull
+    public List<String> getParams() {
+        return List.of(params);
+    }
+
+    /**
+     * Gets the text this template was compiled from.
+     * @return The text.
+     */
+    @NotNull
+    public String getText() {
+        return text;
+    }
+}
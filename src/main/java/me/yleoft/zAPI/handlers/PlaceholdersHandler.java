@@ -1,14 +1,10 @@
 package me.yleoft.zAPI.handlers;
 
 import me.yleoft.zAPI.utility.Version;
-import me.yleoft.zAPI.zAPI;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Base handler for plugin-defined placeholders.
  *
@@ -55,28 +51,60 @@ public interface PlaceholdersHandler {
     @Nullable
     String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params);
 
+    /**
+     * Checks if {@link #applyHookPlaceholders(OfflinePlayer, String)} can be called from any thread.
+     * Handlers that only read concurrent or immutable data should override it to return true,
+     * so {@link me.yleoft.zAPI.utility.TextFormatter#transformAsync(OfflinePlayer, String)} can resolve
+     * them without hopping to the player's thread.
+     *
+     * @return true if this handler is thread-safe, false by default
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * Gets the cache of this handler's placeholder results.
+     * Override it to return a {@link PlaceholderCache} marking the expensive placeholders.
+     *
+     * @return The cache, or null if nothing is cached outside render passes
+     */
+    @Nullable
+    default PlaceholderCache getCache() {
+        return null;
+    }
+
+    /**
+     * Resolves a single placeholder, going through the {@link PlaceholderCache} rules and the current render pass.
+     *
+     * @param player The player to apply placeholders for
+     * @param params The placeholder params (the part after the identifier prefix)
+     * @return The replacement, or null if not handled
+     */
+    @Nullable
+    default String resolvePlaceholder(@Nullable OfflinePlayer player, @NotNull String params) {
+        long start = PlaceholderMetrics.start();
+        PlaceholderCache cache = getCache();
+        String value = cache != null
+                ? cache.resolve(this, player, params)
+                : PlaceholderCache.resolveInRenderPass(this, player, params);
+        if (start != 0L) PlaceholderMetrics.record(PlaceholderMetrics.Source.HANDLER, getIdentifier() + "_" + params, start);
+        return value;
+    }
+
     /**
      * Applies plugin placeholders in a given text for a specific player.
+     * The text is compiled once into a cached {@link PlaceholderTemplate}, texts without
+     * {@code %identifier_} return right away.
      *
      * @param player The player to apply placeholders for
      * @param text   The text containing placeholders
      * @return The text with placeholders replaced
      */
     default String applyPlaceholders(@Nullable OfflinePlayer player, @NotNull String text) {
-        if (!text.contains("%")) return text;
-
-        Pattern pattern = Pattern.compile("%"+ getIdentifier()+"_([^%]+)%");
-        Matcher matcher = pattern.matcher(text);
-        StringBuffer buffer = new StringBuffer();
-
-        while (matcher.find()) {
-            String identifier = matcher.group(1);
-            String replacement = applyHookPlaceholders(player, identifier);
-            if (replacement == null) replacement = "";
-            matcher.appendReplacement(buffer, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(buffer);
-        return buffer.toString();
+        String identifier = getIdentifier();
+        if (!PlaceholderTemplate.mayContain(text, identifier)) return text;
+        return PlaceholderTemplate.of(identifier, text).render(this, player);
     }
 
 }
\ No newline at end of file
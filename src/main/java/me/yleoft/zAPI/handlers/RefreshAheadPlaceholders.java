@@ -0,0 +1,178 @@
+package me.yleoft.zAPI.handlers;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import me.yleoft.zAPI.zAPI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Placeholders too expensive to compute on request, recomputed in the background instead.
+ *
+ * <p>Each placeholder is registered with a compute function and an interval. Once {@link #start()} is called,
+ * it's recomputed on the async scheduler and the result is merged with every other value into one immutable map
+ * published atomically, so {@link #get(String)} always returns the last computed value at the cost of a single
+ * map read, however many groups are registered:</p>
+ * <pre>{@code
+ * private final RefreshAheadPlaceholders refreshing = new RefreshAheadPlaceholders()
+ *         .register("total_money", Duration.ofSeconds(30), economy::getTotal)
+ *         .registerAll("top", Duration.ofMinutes(1), this::computeTopBalances); // top_1_name, top_1_value, ...
+ *
+ * public String applyHookPlaceholders(OfflinePlayer player, String params) {
+ *     String value = refreshing.get(params);
+ *     if (value != null) return value;
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>Compute functions run off the main thread and must not touch the world. A slow computation never overlaps
+ * with itself, the next run is skipped instead.</p>
+ */
+public class RefreshAheadPlaceholders {
+
+    private final Map<String, Refresher> single = new ConcurrentHashMap<>();
+    private final Map<String, Refresher> groups = new ConcurrentHashMap<>();
+    private final Map<Refresher, WrappedTask> tasks = new IdentityHashMap<>();
+    private volatile Map<String, String> values = Map.of();
+    private boolean started;
+
+    /**
+     * Registers a placeholder computed in the background.
+     * @param key The placeholder params, e.g. {@code total_money}
+     * @param interval How often the value is recomputed
+     * @param compute The function computing the value, its result is turned into a string
+     * @return This RefreshAheadPlaceholders for chaining
+     */
+    public RefreshAheadPlaceholders register(@NotNull String key, @NotNull Duration interval, @NotNull Supplier<?> compute) {
+        Refresher refresher = new Refresher(key, interval, () -> {
+            Object value = compute.get();
+            return value == null ? Map.of() : Map.of(key, value);
+        });
+        unschedule(single.put(key, refresher));
+        publish();
+        schedule(refresher);
+        return this;
+    }
+
+    /**
+     * Registers a group of placeholders computed together in the background, e.g. every line of a leaderboard.
+     * Every run replaces the whole group at once, so the values of a group are always consistent with each other.
+     * @param name The name of the group, used to refresh it
+     * @param interval How often the values are recomputed
+     * @param compute The function computing the values by placeholder params, e.g. {@code top_1_name}
+     * @return This RefreshAheadPlaceholders for chaining
+     */
+    public RefreshAheadPlaceholders registerAll(@NotNull String name, @NotNull Duration interval,
+                                                @NotNull Supplier<? extends Map<String, ?>> compute) {
+        Refresher refresher = new Refresher(name, interval, compute);
+        unschedule(groups.put(name, refresher));
+        publish();
+        schedule(refresher);
+        return this;
+    }
+
+    /**
+     * Gets the last computed value of a placeholder.
+     * @param key The placeholder params
+     * @return The value, or null if unknown or not computed yet
+     */
+    @Nullable
+    public String get(@NotNull String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Recomputes a placeholder or group now, on the calling thread.
+     * @param name The placeholder params or group name
+     * @return true if it was recomputed, false if unknown or already being recomputed
+     */
+    public boolean refresh(@NotNull String name) {
+        Refresher refresher = single.get(name);
+        if (refresher == null) refresher = groups.get(name);
+        return refresher != null && refresher.run();
+    }
+
+    /**
+     * Starts recomputing every placeholder on the async scheduler, the first run being right away.
+     * Placeholders registered afterwards are scheduled as they are registered.
+     */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        single.values().forEach(this::schedule);
+        groups.values().forEach(this::schedule);
+    }
+
+    /**
+     * Stops recomputing, keeping the last computed values.
+     */
+    public synchronized void stop() {
+        started = false;
+        tasks.values().forEach(WrappedTask::cancel);
+        tasks.clear();
+    }
+
+    private synchronized void schedule(Refresher refresher) {
+        if (!started) return;
+        long period = Math.max(1L, refresher.interval.toMillis() / 50L);
+        tasks.put(refresher, zAPI.getScheduler().runTimerAsync(refresher::run, 1L, period));
+    }
+
+    private synchronized void unschedule(@Nullable Refresher refresher) {
+        if (refresher == null) return;
+        WrappedTask task = tasks.remove(refresher);
+        if (task != null) task.cancel();
+    }
+
+    /**
+     * Merges the values of every placeholder and group into the map read by {@link #get(String)},
+     * a placeholder registered on its own winning over a group with the same params.
+     */
+    private synchronized void publish() {
+        Map<String, String> merged = new HashMap<>();
+        for (Refresher group : groups.values()) {
+            merged.putAll(group.values);
+        }
+        for (Refresher refresher : single.values()) {
+            merged.putAll(refresher.values);
+        }
+        values = Collections.unmodifiableMap(merged);
+    }
+
+    private final class Refresher {
+        private final String name;
+        private final Duration interval;
+        private final Supplier<? extends Map<String, ?>> compute;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile Map<String, String> values = Map.of();
+
+        private Refresher(String name, Duration interval, Supplier<? extends Map<String, ?>> compute) {
+            this.name = name;
+            this.interval = interval;
+            this.compute = compute;
+        }
+
+        private boolean run() {
+            if (!running.compareAndSet(false, true)) return false;
+            try {
+                Map<String, ?> computed = compute.get();
+                Map<String, String> snapshot = new HashMap<>(computed.size());
+                computed.forEach((key, value) -> {
+                    if (value != null) snapshot.put(key, value.toString());
+                });
+                values = snapshot;
+                publish();
+            } catch (Exception exception) {
+                zAPI.getLogger().warn("Failed to refresh placeholder: " + name, exception);
+            } finally {
+                running.set(false);
+            }
+            return true;
+        }
+    }
+}
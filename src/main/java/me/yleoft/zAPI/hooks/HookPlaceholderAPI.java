@@ -63,7 +63,7 @@ public class HookPlaceholderAPI implements HookInstance {
 
                     @Override
                     public String onRequest(OfflinePlayer p, @NotNull String params) {
-                        return handler.applyHookPlaceholders(p, params);
+                        return handler.resolvePlaceholder(p, params);
                     }
                 };
                 ((PlaceholderExpansion) expansion).register();
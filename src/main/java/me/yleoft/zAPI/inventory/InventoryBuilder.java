@@ -1,6 +1,7 @@
 package me.yleoft.zAPI.inventory;
 
 import me.yleoft.zAPI.command.Command;
+import me.yleoft.zAPI.handlers.PlaceholderCache;
 import me.yleoft.zAPI.item.ItemBuilder;
 import me.yleoft.zAPI.utility.PluginYAML;
 import me.yleoft.zAPI.utility.TextFormatter;
@@ -141,20 +142,23 @@ public class InventoryBuilder {
      * @param config The YAML configuration
      */
     public InventoryBuilder(@Nullable OfflinePlayer player, @NotNull YamlConfiguration config) {
-        // Load inventory metadata
-        String titleString = config.getString(formPath(KEY_INVENTORY, KEY_TITLE), "Inventory");
-        this.title = TextFormatter.transform(player, titleString);
-        this.rows = config.getInt(formPath(KEY_INVENTORY, KEY_ROWS), 3);
-
-        if (this.rows < 1 || this.rows > 6) {
-            throw new IllegalArgumentException("Rows must be between 1 and 6, got: " + this.rows);
-        }
+        // One render pass for the whole inventory, so each distinct placeholder is resolved once
+        try (PlaceholderCache.RenderPass ignored = PlaceholderCache.beginRenderPass()) {
+            // Load inventory metadata
+            String titleString = config.getString(formPath(KEY_INVENTORY, KEY_TITLE), "Inventory");
+            this.title = TextFormatter.transform(player, titleString);
+            this.rows = config.getInt(formPath(KEY_INVENTORY, KEY_ROWS), 3);
+
+            if (this.rows < 1 || this.rows > 6) {
+                throw new IllegalArgumentException("Rows must be between 1 and 6, got: " + this.rows);
+            }
 
-        this.items = new HashMap<>();
-        this.globalPlaceholders = new HashMap<>();
+            this.items = new HashMap<>();
+            this.globalPlaceholders = new HashMap<>();
 
-        // Load items
-        loadItemsFromConfig(player, config);
+            // Load items
+            loadItemsFromConfig(player, config);
+        }
     }
 
     /**
@@ -175,26 +179,25 @@ public class InventoryBuilder {
     public InventoryBuilder(@Nullable OfflinePlayer player,
                             @NotNull YamlConfiguration config,
                             @NotNull Map<String, String> globalPlaceholders) {
-        // Load inventory metadata
-        String titleString = config.getString(formPath(KEY_INVENTORY, KEY_TITLE), "Inventory");
-
-        // Apply global placeholders to title BEFORE TextFormatter
-        for (Map.Entry<String, String> entry : globalPlaceholders.entrySet()) {
-            titleString = titleString.replace(entry.getKey(), entry.getValue());
-        }
+        // One render pass for the whole inventory, so each distinct placeholder is resolved once
+        try (PlaceholderCache.RenderPass ignored = PlaceholderCache.beginRenderPass()) {
+            // Load inventory metadata
+            String titleString = config.getString(formPath(KEY_INVENTORY, KEY_TITLE), "Inventory");
 
-        this.title = TextFormatter.transform(player, titleString);
-        this.rows = config.getInt(formPath(KEY_INVENTORY, KEY_ROWS), 3);
+            // Global placeholders are resolved by TextFormatter before any other placeholder
+            this.title = TextFormatter.transform(player, titleString, globalPlaceholders);
+            this.rows = config.getInt(formPath(KEY_INVENTORY, KEY_ROWS), 3);
 
-        if (this.rows < 1 || this.rows > 6) {
-            throw new IllegalArgumentException("Rows must be between 1 and 6, got: " + this.rows);
-        }
+            if (this.rows < 1 || this.rows > 6) {
+                throw new IllegalArgumentException("Rows must be between 1 and 6, got: " + this.rows);
+            }
 
-        this.items = new HashMap<>();
-        this.globalPlaceholders = new HashMap<>(globalPlaceholders);
+            this.items = new HashMap<>();
+            this.globalPlaceholders = new HashMap<>(globalPlaceholders);
 
-        // Load items with custom placeholders
-        loadItemsFromConfig(player, config);
+            // Load items with custom placeholders
+            loadItemsFromConfig(player, config);
+        }
     }
 
     // ========================================
@@ -47,6 +47,8 @@ public abstract class ItemBuilder {
     public static final String KEY_DISPLAY_CONDITION = "display-condition";
     public static final String KEY_PLACEHOLDERS = "placeholders";
 
+    private static final Pattern MATH_PATTERN = Pattern.compile("\\{math:\\s*([^}]+)\\}");
+
     // ========================================
     // Item Creation from Config
     // ========================================
@@ -207,8 +209,8 @@ public abstract class ItemBuilder {
 
         String nameString = config.getString(path);
         if (nameString != null) {
-            nameString = applyPlaceholders(player, nameString, placeholders);
-            meta.itemName(TextFormatter.transform(player, nameString));
+            nameString = evaluateMathExpressions(nameString, placeholders);
+            meta.itemName(TextFormatter.transform(player, nameString, placeholders));
         }
     }
 
@@ -226,11 +228,13 @@ public abstract class ItemBuilder {
                 ? config.getStringList(path)
                 : Collections.singletonList(config.getString(path, ""));
 
-        List<Component> lore = loreStrings.stream()
-                .map(line -> applyPlaceholders(player, line, placeholders))
-                .map(line -> TextFormatter.transform(player, line))
-                .map(ItemBuilder::disableDefaultItalics)
-                .collect(Collectors.toList());
+        // Math per line, then custom placeholders as tags and every player placeholder at once
+        List<String> lines = new ArrayList<>(loreStrings.size());
+        for (String line : loreStrings) {
+            lines.add(evaluateMathExpressions(line, placeholders));
+        }
+        List<Component> lore = TextFormatter.transformAll(player, lines, placeholders);
+        lore.replaceAll(ItemBuilder::disableDefaultItalics);
 
         meta.lore(lore);
     }
@@ -394,9 +398,22 @@ public abstract class ItemBuilder {
      */
     @NotNull
     private static String evaluateMathExpressions(@NotNull String text) {
-        // Pattern to match {math: ... }
-        Pattern pattern = Pattern.compile("\\{math:\\s*([^}]+)\\}");
-        Matcher matcher = pattern.matcher(text);
+        return evaluateMathExpressions(text, null);
+    }
+
+    /**
+     * Evaluates all mathematical expressions in a string, binding custom placeholders inside the expressions only.
+     * The rest of the text is left for {@link TextFormatter#transform(OfflinePlayer, String, Map)}.
+     *
+     * @param text The text containing potential math expressions
+     * @param placeholders Custom placeholders to apply inside the expressions
+     * @return The text with all math expressions evaluated and replaced
+     */
+    @NotNull
+    private static String evaluateMathExpressions(@NotNull String text, @Nullable Map<String, String> placeholders) {
+        if (!text.contains("{math:")) return text;
+
+        Matcher matcher = MATH_PATTERN.matcher(text);
 
         StringBuffer result = new StringBuffer();
 
@@ -404,8 +421,9 @@ public abstract class ItemBuilder {
             String expression = matcher.group(1).trim();
 
             try {
-                // Evaluate the mathematical expression
-                double value = MathExpressionEvaluator.evaluate(expression);
+                // Evaluate the compiled expression, custom placeholders being bound as its variables
+                double value = MathExpressionEvaluator.compile(expression)
+                        .evaluate(name -> placeholders == null ? null : placeholders.get("%" + name + "%"));
 
                 // Format the result
                 String replacement = formatMathResult(value);
@@ -1,6 +1,8 @@
 package me.yleoft.zAPI.listeners;
 
+import me.yleoft.zAPI.configuration.LanguageManager;
 import me.yleoft.zAPI.configuration.Messages;
+import me.yleoft.zAPI.handlers.PlaceholderCache;
 import me.yleoft.zAPI.utility.PluginYAML;
 import me.yleoft.zAPI.utility.TextFormatter;
 import org.bukkit.Bukkit;
@@ -9,6 +11,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.Locale;
 
@@ -59,4 +63,23 @@ public class PlayerListeners implements Listener {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Listens for player locale change events.
+     * Used to switch the player's language in every LanguageManager.
+     */
+    @EventHandler
+    public void onPlayerLocaleChange(final PlayerLocaleChangeEvent event) {
+        LanguageManager.updatePlayer(event.getPlayer(), event.locale());
+    }
+
+    /**
+     * Listens for player quit events.
+     * Used to release the player's language in every LanguageManager and drop their cached placeholders.
+     */
+    @EventHandler
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        LanguageManager.removePlayer(event.getPlayer());
+        PlaceholderCache.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
+
+}
@@ -0,0 +1,227 @@
+package me.yleoft.zAPI.player;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import me.yleoft.zAPI.utility.TextFormatter;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.bossbar.BossBar;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends action bars and boss bars from a single task, instead of one repeating task per player.
+ *
+ * <p>Setting a bar only records what the player should see, placeholders being applied right away on the
+ * calling thread. Once per tick, the latest state of every player is compared with what they were last sent
+ * and only the differences are sent, so setting the same bar many times costs nothing and several updates
+ * within a tick are sent once. Bars are parsed through {@link TextFormatter#deserialize(String)}, so players
+ * seeing the same text share the same component:</p>
+ * <pre>{@code
+ * BarBroadcaster bars = new BarBroadcaster();
+ * bars.start();
+ * bars.actionBar(player, "<yellow>Cooldown: %myplugin_cooldown%s");
+ * bars.bossBar(player, "progress", "<green>Mining", 0.4F);
+ * }</pre>
+ */
+public class BarBroadcaster {
+
+    /**
+     * The default amount of ticks an action bar is shown for.
+     */
+    public static final int DEFAULT_ACTION_BAR_TICKS = 60;
+
+    /**
+     * The client fades action bars out after a while, an unchanged one is sent again this often to keep it visible.
+     */
+    private static final int ACTION_BAR_RESEND_TICKS = 40;
+
+    private final Map<UUID, Bars> players = new ConcurrentHashMap<>();
+    private volatile long tick;
+    private WrappedTask task;
+
+    /**
+     * Starts sending bars, once per tick.
+     */
+    public synchronized void start() {
+        if (task != null) return;
+        task = zAPI.getScheduler().runTimer(this::flush, 1L, 1L);
+    }
+
+    /**
+     * Stops sending bars, hiding every boss bar.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Bars bars : players.values()) {
+            bars.hideAll();
+        }
+        players.clear();
+    }
+
+    /**
+     * Shows an action bar for {@link #DEFAULT_ACTION_BAR_TICKS} ticks.
+     * @param player The player
+     * @param text The MiniMessage text, placeholders are applied for the player
+     */
+    public void actionBar(@NotNull Player player, @NotNull String text) {
+        actionBar(player, text, DEFAULT_ACTION_BAR_TICKS);
+    }
+
+    /**
+     * Shows an action bar, replacing the current one.
+     * @param player The player
+     * @param text The MiniMessage text, placeholders are applied for the player
+     * @param ticks How long the action bar is kept visible
+     */
+    public void actionBar(@NotNull Player player, @NotNull String text, int ticks) {
+        bars(player).actionBar.set(new ActionBar(TextFormatter.transformString(player, text), tick + ticks));
+    }
+
+    /**
+     * Clears the action bar of a player.
+     * @param player The player
+     */
+    public void clearActionBar(@NotNull Player player) {
+        bars(player).actionBar.set(new ActionBar("", tick + 1));
+    }
+
+    /**
+     * Shows or updates a white, continuous boss bar.
+     * @param player The player
+     * @param id The id of the boss bar, a player can see several boss bars with different ids
+     * @param text The MiniMessage text, placeholders are applied for the player
+     * @param progress The progress, between 0 and 1
+     */
+    public void bossBar(@NotNull Player player, @NotNull String id, @NotNull String text, float progress) {
+        bossBar(player, id, text, progress, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS);
+    }
+
+    /**
+     * Shows or updates a boss bar.
+     * @param player The player
+     * @param id The id of the boss bar, a player can see several boss bars with different ids
+     * @param text The MiniMessage text, placeholders are applied for the player
+     * @param progress The progress, between 0 and 1
+     * @param color The color
+     * @param overlay The overlay
+     */
+    public void bossBar(@NotNull Player player, @NotNull String id, @NotNull String text, float progress,
+                        @NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        float clamped = Math.max(BossBar.MIN_PROGRESS, Math.min(BossBar.MAX_PROGRESS, progress));
+        bars(player).bossBar(id).pending.set(new BossBarState(TextFormatter.transformString(player, text), clamped, color, overlay));
+    }
+
+    /**
+     * Hides a boss bar.
+     * @param player The player
+     * @param id The id of the boss bar
+     */
+    public void hideBossBar(@NotNull Player player, @NotNull String id) {
+        Bars bars = players.get(player.getUniqueId());
+        if (bars == null) return;
+        BossBarSlot slot = bars.bossBars.get(id);
+        if (slot != null) slot.pending.set(BossBarState.HIDDEN);
+    }
+
+    /**
+     * Sends the differences of every player, called once per tick once started.
+     */
+    void flush() {
+        long now = ++tick;
+        for (Bars bars : players.values()) {
+            if (!bars.player.isOnline()) {
+                players.remove(bars.player.getUniqueId(), bars);
+                continue;
+            }
+            bars.flush(now);
+        }
+    }
+
+    private Bars bars(Player player) {
+        Bars bars = players.get(player.getUniqueId());
+        if (bars != null && bars.player == player) return bars;
+        // A player that rejoined is a new instance, start over with it
+        return players.compute(player.getUniqueId(), (id, old) -> old != null && old.player == player ? old : new Bars(player));
+    }
+
+    private record ActionBar(String text, long expiresAt) {
+    }
+
+    private record BossBarState(String text, float progress, BossBar.Color color, BossBar.Overlay overlay) {
+        private static final BossBarState HIDDEN = new BossBarState("", 0F, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS);
+    }
+
+    private static final class BossBarSlot {
+        private final AtomicReference<BossBarState> pending = new AtomicReference<>();
+        private BossBar bar;
+        private String sentText;
+    }
+
+    /**
+     * The bars of a player. Setters only touch the atomic pending states, everything else belongs to the flush.
+     */
+    private static final class Bars {
+        private final Player player;
+        private final AtomicReference<ActionBar> actionBar = new AtomicReference<>();
+        private final Map<String, BossBarSlot> bossBars = new ConcurrentHashMap<>();
+        private String sentActionBar;
+        private long sentAt;
+
+        private Bars(Player player) {
+            this.player = player;
+        }
+
+        private BossBarSlot bossBar(String id) {
+            return bossBars.computeIfAbsent(id, key -> new BossBarSlot());
+        }
+
+        private void flush(long now) {
+            ActionBar current = actionBar.get();
+            if (current != null) {
+                if (now > current.expiresAt()) {
+                    actionBar.compareAndSet(current, null);
+                    sentActionBar = null;
+                } else if (!current.text().equals(sentActionBar) || now - sentAt >= ACTION_BAR_RESEND_TICKS) {
+                    player.sendActionBar(TextFormatter.deserialize(current.text()));
+                    sentActionBar = current.text();
+                    sentAt = now;
+                }
+            }
+
+            for (BossBarSlot slot : bossBars.values()) {
+                BossBarState state = slot.pending.getAndSet(null);
+                if (state == null) continue;
+                if (state == BossBarState.HIDDEN) {
+                    if (slot.bar != null) player.hideBossBar(slot.bar);
+                    slot.bar = null;
+                    slot.sentText = null;
+                    continue;
+                }
+                if (slot.bar == null) {
+                    slot.bar = BossBar.bossBar(TextFormatter.deserialize(state.text()), state.progress(), state.color(), state.overlay());
+                    player.showBossBar(slot.bar);
+                } else {
+                    // BossBar only notifies the viewers of values that actually changed
+                    if (!state.text().equals(slot.sentText)) slot.bar.name(TextFormatter.deserialize(state.text()));
+                    slot.bar.progress(state.progress());
+                    slot.bar.color(state.color());
+                    slot.bar.overlay(state.overlay());
+                }
+                slot.sentText = state.text();
+            }
+        }
+
+        private void hideAll() {
+            for (BossBarSlot slot : bossBars.values()) {
+                if (slot.bar != null) player.hideBossBar(slot.bar);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package me.yleoft.zAPI.scoreboard;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import io.papermc.paper.scoreboard.numbers.NumberFormat;
+import me.yleoft.zAPI.utility.TextFormatter;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A sidebar shown to players, only sending the lines whose placeholders changed.
+ *
+ * <p>Lines without placeholders are rendered once for every player. Lines with placeholders are resolved
+ * together on each refresh, and the last resolved string of each line is kept per player, so a line is only
+ * parsed and sent again when its text actually changed:</p>
+ * <pre>{@code
+ * Sidebar sidebar = new Sidebar("<gold><bold>My Server", List.of(
+ *         "<gray>Kills: <white>%myplugin_kills%",
+ *         "",
+ *         "<yellow>play.myserver.net"));
+ * sidebar.start();
+ * sidebar.show(player);
+ * }</pre>
+ *
+ * <p>Players are spread over the refresh interval, so with the default of 20 ticks each tick only refreshes
+ * a twentieth of them instead of every player at once every second.</p>
+ */
+public class Sidebar {
+
+    /**
+     * The default amount of ticks between two refreshes of a player.
+     */
+    public static final int DEFAULT_REFRESH_TICKS = 20;
+
+    private static final String OBJECTIVE = "zapi_sidebar";
+
+    /**
+     * Title at index 0, lines after.
+     */
+    private final String[] texts;
+    private final Component[] constants;
+    private final int[] dynamic;
+    private final List<String> dynamicTexts;
+    private final int refreshTicks;
+    private final Map<UUID, Viewer> viewers = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBucket = new AtomicInteger();
+    private WrappedTask task;
+    private long tick;
+
+    /**
+     * Creates a new Sidebar refreshing every {@link #DEFAULT_REFRESH_TICKS} ticks.
+     * @param title The title
+     * @param lines The lines, top to bottom
+     */
+    public Sidebar(@NotNull String title, @NotNull List<String> lines) {
+        this(title, lines, DEFAULT_REFRESH_TICKS);
+    }
+
+    /**
+     * Creates a new Sidebar.
+     * @param title The title
+     * @param lines The lines, top to bottom
+     * @param refreshTicks The amount of ticks between two refreshes of a player
+     */
+    public Sidebar(@NotNull String title, @NotNull List<String> lines, int refreshTicks) {
+        this.texts = new String[lines.size() + 1];
+        this.texts[0] = title;
+        for (int i = 0; i < lines.size(); i++) {
+            this.texts[i + 1] = lines.get(i);
+        }
+        this.refreshTicks = Math.max(1, refreshTicks);
+
+        this.constants = new Component[texts.length];
+        List<Integer> dynamic = new ArrayList<>();
+        List<String> dynamicTexts = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i].indexOf('%') < 0) {
+                constants[i] = TextFormatter.deserialize(texts[i]);
+            } else {
+                dynamic.add(i);
+                dynamicTexts.add(texts[i]);
+            }
+        }
+        this.dynamic = dynamic.stream().mapToInt(Integer::intValue).toArray();
+        this.dynamicTexts = List.copyOf(dynamicTexts);
+    }
+
+    /**
+     * Shows this sidebar to a player on a new scoreboard of their own.
+     * @param player The player
+     */
+    public void show(@NotNull Player player) {
+        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        show(player, scoreboard, true);
+        player.setScoreboard(scoreboard);
+    }
+
+    /**
+     * Shows this sidebar to a player on an existing scoreboard, e.g. one also holding their teams.
+     * The scoreboard must only be shown to that player.
+     * @param player The player
+     * @param scoreboard The scoreboard of the player
+     */
+    public void show(@NotNull Player player, @NotNull Scoreboard scoreboard) {
+        show(player, scoreboard, false);
+    }
+
+    private void show(Player player, Scoreboard scoreboard, boolean owned) {
+        hide(player);
+        Objective existing = scoreboard.getObjective(OBJECTIVE);
+        if (existing != null) existing.unregister();
+
+        Objective objective = scoreboard.registerNewObjective(OBJECTIVE, Criteria.DUMMY, Component.empty());
+        objective.numberFormat(NumberFormat.blank());
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        for (int i = 1; i < texts.length; i++) {
+            objective.getScore(entry(i)).setScore(texts.length - i);
+        }
+
+        Viewer viewer = new Viewer(player, scoreboard, objective, owned, Math.floorMod(nextBucket.getAndIncrement(), refreshTicks));
+        for (int i = 0; i < texts.length; i++) {
+            if (constants[i] != null) set(objective, i, constants[i]);
+        }
+        update(viewer);
+        viewers.put(player.getUniqueId(), viewer);
+    }
+
+    /**
+     * Removes this sidebar from a player.
+     * A scoreboard created by {@link #show(Player)} is replaced with the main scoreboard.
+     * @param player The player
+     */
+    public void hide(@NotNull Player player) {
+        Viewer viewer = viewers.remove(player.getUniqueId());
+        if (viewer == null) return;
+        viewer.objective.unregister();
+        if (viewer.owned && player.getScoreboard() == viewer.scoreboard) {
+            player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    /**
+     * Checks if this sidebar is shown to a player.
+     * @param player The player
+     * @return true if shown
+     */
+    public boolean isShown(@NotNull Player player) {
+        return viewers.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Refreshes the lines of a player now, on the calling thread.
+     * @param player The player
+     * @return The amount of lines sent, 0 if none changed or the sidebar isn't shown to the player
+     */
+    public int refresh(@NotNull Player player) {
+        Viewer viewer = viewers.get(player.getUniqueId());
+        return viewer == null ? 0 : update(viewer);
+    }
+
+    /**
+     * Starts refreshing players, each one every refresh interval, a share of them each tick.
+     */
+    public synchronized void start() {
+        if (task != null || dynamic.length == 0) return;
+        task = zAPI.getScheduler().runTimer(this::tick, 1L, 1L);
+    }
+
+    /**
+     * Stops refreshing players, leaving their sidebar as is.
+     */
+    public synchronized void stop() {
+        if (task == null) return;
+        task.cancel();
+        task = null;
+    }
+
+    private void tick() {
+        int bucket = (int) (tick++ % refreshTicks);
+        for (Viewer viewer : viewers.values()) {
+            if (viewer.bucket != bucket) continue;
+            Player player = viewer.player;
+            if (!player.isOnline()) {
+                viewers.remove(player.getUniqueId(), viewer);
+            } else if (zAPI.getScheduler().isOwnedByCurrentRegion(player)) {
+                update(viewer);
+            } else {
+                zAPI.getScheduler().runAtEntity(player, wrappedTask -> update(viewer));
+            }
+        }
+    }
+
+    private int update(Viewer viewer) {
+        if (dynamic.length == 0) return 0;
+        List<String> resolved = TextFormatter.transformStringAll(viewer.player, dynamicTexts);
+        int sent = 0;
+        for (int j = 0; j < dynamic.length; j++) {
+            String text = resolved.get(j);
+            if (text.equals(viewer.last[j])) continue;
+            viewer.last[j] = text;
+            set(viewer.objective, dynamic[j], TextFormatter.deserialize(text));
+            sent++;
+        }
+        return sent;
+    }
+
+    private static void set(Objective objective, int index, Component component) {
+        if (index == 0) {
+            objective.displayName(component);
+        } else {
+            objective.getScore(entry(index)).customName(component);
+        }
+    }
+
+    /**
+     * The hidden entry of a line, never a valid player name.
+     */
+    private static String entry(int index) {
+        return "§" + Integer.toHexString(index);
+    }
+
+    private final class Viewer {
+        private final Player player;
+        private final Scoreboard scoreboard;
+        private final Objective objective;
+        private final boolean owned;
+        private final int bucket;
+        private final String[] last = new String[dynamic.length];
+
+        private Viewer(Player player, Scoreboard scoreboard, Objective objective, boolean owned, int bucket) {
+            this.player = player;
+            this.scoreboard = scoreboard;
+            this.objective = objective;
+            this.owned = owned;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package me.yleoft.zAPI.utility;
+
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A text animated through the phase of its {@code <gradient>} and {@code <rainbow>} tags,
+ * with every frame rendered once up front.
+ *
+ * <p>Each frame shifts the phase of every gradient and rainbow of the text that doesn't set one itself,
+ * so the colors loop once over the frames. Frames are parsed when the animation is compiled and compiled
+ * animations are cached by text and frame count, so showing a frame is an array read instead of a gradient
+ * computation and a parse:</p>
+ * <pre>{@code
+ * Animation title = Animation.of("<bold><gradient:gold:yellow>My Server</gradient>", 40);
+ * // every tick
+ * bossBar.name(title.frame(tick));
+ * }</pre>
+ *
+ * <p>Placeholders aren't applied, apply them first with {@link TextFormatter#transformString(org.bukkit.OfflinePlayer, String)}
+ * if needed. MiniMessage only supports whole rainbow phases, which gives a rainbow 10 distinct steps per loop.</p>
+ */
+public final class Animation {
+
+    /**
+     * The default maximum amount of frames kept by the cache of {@link #of(String, int)}, across every animation.
+     */
+    public static final int DEFAULT_CACHE_FRAMES = 1 << 14;
+
+    private static final Pattern PHASED_TAG = Pattern.compile("<(gradient|rainbow)((?::[^<>]*)?)>", Pattern.CASE_INSENSITIVE);
+    private static final int RAINBOW_STEPS = 10;
+    private static final BoundedCache<Key, Animation> CACHE = new BoundedCache<>(DEFAULT_CACHE_FRAMES, (key, animation) -> animation.size());
+
+    private final Component[] frames;
+
+    private Animation(Component[] frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * Gets the animation of a text, from the cache if possible.
+     * @param text The MiniMessage text
+     * @param frames The amount of frames of one loop
+     * @return The animation
+     */
+    @NotNull
+    public static Animation of(@NotNull String text, int frames) {
+        return CACHE.get(new Key(text, frames), key -> compile(key.text(), key.frames()));
+    }
+
+    /**
+     * Renders every frame of a text without caching the animation.
+     * A text without any gradient or rainbow to animate has a single frame.
+     * @param text The MiniMessage text
+     * @param frames The amount of frames of one loop
+     * @return The animation
+     */
+    @NotNull
+    public static Animation compile(@NotNull String text, int frames) {
+        if (frames < 1) throw new IllegalArgumentException("An animation needs at least one frame: " + frames);
+        if (phased(text, 0, frames).equals(text)) {
+            return new Animation(new Component[]{TextFormatter.deserialize(text)});
+        }
+        Component[] rendered = new Component[frames];
+        for (int i = 0; i < frames; i++) {
+            rendered[i] = zAPI.getMiniMessage().deserialize(phased(text, i, frames));
+        }
+        return new Animation(rendered);
+    }
+
+    /**
+     * Sets the phase of every gradient and rainbow tag without one for a frame.
+     */
+    static String phased(String text, int frame, int frames) {
+        Matcher matcher = PHASED_TAG.matcher(text);
+        if (!matcher.find()) return text;
+
+        double progress = (double) frame / frames;
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        do {
+            String name = matcher.group(1);
+            String args = matcher.group(2);
+            String replacement;
+            if (name.equalsIgnoreCase("gradient")) {
+                replacement = hasGradientPhase(args) ? matcher.group()
+                        : "<" + name + args + ":" + String.format(Locale.ROOT, "%.4f", progress * 2D - 1D) + ">";
+            } else {
+                boolean reversed = args.startsWith(":!");
+                replacement = args.length() > (reversed ? 2 : 1) ? matcher.group()
+                        : "<" + name + ":" + (reversed ? "!" : "") + (int) Math.round(progress * RAINBOW_STEPS) % RAINBOW_STEPS + ">";
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        } while (matcher.find());
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private static boolean hasGradientPhase(String args) {
+        int last = args.lastIndexOf(':');
+        if (last < 0) return false;
+        try {
+            Double.parseDouble(args.substring(last + 1));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the frame to show at a tick, looping over the frames.
+     * @param tick Any increasing counter, e.g. the server tick
+     * @return The frame
+     */
+    @NotNull
+    public Component frame(long tick) {
+        return frames[(int) Math.floorMod(tick, (long) frames.length)];
+    }
+
+    /**
+     * Gets a frame.
+     * @param index The index of the frame
+     * @return The frame
+     */
+    @NotNull
+    public Component get(int index) {
+        return frames[index];
+    }
+
+    /**
+     * Gets the amount of frames, 1 if the text has nothing to animate.
+     * @return The amount of frames
+     */
+    public int size() {
+        return frames.length;
+    }
+
+    /**
+     * Gets every frame.
+     * @return An unmodifiable list of the frames, in order
+     */
+    @NotNull
+    public List<Component> getFrames() {
+        return List.of(frames);
+    }
+
+    /**
+     * Get the cache used by {@link #of(String, int)}, e.g. to read its hit ratio.
+     * Its weight is the amount of frames of the cached animations.
+     * @return The animation cache
+     */
+    @NotNull
+    public static BoundedCache<?, Animation> getCache() {
+        return CACHE;
+    }
+
+    private record Key(String text, int frames) {
+    }
+}
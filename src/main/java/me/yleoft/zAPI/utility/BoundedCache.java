@@ -0,0 +1,182 @@
+package me.yleoft.zAPI.utility;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A thread-safe, bounded LRU cache.
+ * Every entry has a weight (1 by default), once the total weight goes over the limit
+ * the least recently used entries are evicted.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class BoundedCache<K, V> {
+
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private int maxSize;
+    private long weight;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new BoundedCache where every entry weighs 1.
+     * @param maxSize The maximum amount of entries
+     */
+    public BoundedCache(int maxSize) {
+        this(maxSize, (key, value) -> 1);
+    }
+
+    /**
+     * Creates a new size-weighted BoundedCache.
+     * @param maxWeight The maximum total weight of the entries
+     * @param weigher The function computing the weight of an entry, it must not change while the entry is cached
+     */
+    public BoundedCache(int maxWeight, @NotNull ToIntBiFunction<? super K, ? super V> weigher) {
+        this.maxSize = Math.max(0, maxWeight);
+        this.weigher = weigher;
+    }
+
+    /**
+     * Get a cached value, marking it as recently used.
+     * @param key The key
+     * @return The value, or null if not cached
+     */
+    @Nullable
+    public synchronized V get(@NotNull K key) {
+        V value = map.get(key);
+        if (value == null) misses++;
+        else hits++;
+        return value;
+    }
+
+    /**
+     * Cache a value.
+     * @param key The key
+     * @param value The value
+     */
+    public synchronized void put(@NotNull K key, @NotNull V value) {
+        V old = map.put(key, value);
+        if (old != null) weight -= weigher.applyAsInt(key, old);
+        weight += weigher.applyAsInt(key, value);
+        evict();
+    }
+
+    /**
+     * Get a cached value, computing and caching it if missing.
+     * The value is computed outside the lock, so two threads may compute the same value at once.
+     * @param key The key
+     * @param loader The function computing the value
+     * @return The cached or computed value
+     */
+    @NotNull
+    public V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Remove a cached value.
+     * @param key The key
+     */
+    public synchronized void remove(@NotNull K key) {
+        V old = map.remove(key);
+        if (old != null) weight -= weigher.applyAsInt(key, old);
+    }
+
+    /**
+     * Remove every cached value.
+     */
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    /**
+     * Get the amount of cached entries.
+     * @return The amount of entries
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Get the total weight of the cached entries.
+     * Equal to {@link #size()} unless a weigher was given.
+     * @return The total weight
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get the maximum total weight, the maximum amount of entries unless a weigher was given.
+     * @return The maximum total weight
+     */
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximum total weight, evicting the least recently used entries if needed.
+     * @param maxSize The maximum total weight
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        evict();
+    }
+
+    /**
+     * Get how many lookups found a cached value.
+     * @return The amount of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get how many lookups found no cached value.
+     * @return The amount of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the share of lookups that found a cached value.
+     * @return The hit ratio between 0 and 1, or 0 if nothing was looked up yet
+     */
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit and miss counters.
+     */
+    public synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        while (weight > maxSize && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            weight -= weigher.applyAsInt(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+}
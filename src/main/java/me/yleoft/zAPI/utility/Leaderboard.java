@@ -0,0 +1,360 @@
+package me.yleoft.zAPI.utility;
+
+import me.yleoft.zAPI.handlers.PlaceholderRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A ranking of numeric per-player scores, e.g. kills, playtime or money.
+ *
+ * <p>Scores are kept sorted in an indexable skip list, so updating a score, looking up the player at a rank
+ * and looking up the rank of a player all take O(log n), without ever re-sorting the players.
+ * Ties are ordered by UUID so ranks stay stable. Reads share a lock and updates take it exclusively,
+ * so the leaderboard can be updated and read from any thread.</p>
+ * <pre>{@code
+ * Leaderboard kills = new Leaderboard();
+ * kills.add(player.getUniqueId(), player.getName(), 1);
+ * kills.registerPlaceholders(registry, "kills"); // %myplugin_kills_top_1_name%, %myplugin_kills_rank%, ...
+ * }</pre>
+ */
+public class Leaderboard {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final boolean highestFirst;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final Node head = new Node(null, null, 0D, MAX_LEVEL);
+    private int level = 1;
+
+    /**
+     * Creates a new Leaderboard where the highest score ranks first.
+     */
+    public Leaderboard() {
+        this(true);
+    }
+
+    /**
+     * Creates a new Leaderboard.
+     * @param highestFirst true if the highest score ranks first, false for the lowest (e.g. fastest times)
+     */
+    public Leaderboard(boolean highestFirst) {
+        this.highestFirst = highestFirst;
+    }
+
+    /**
+     * Sets the score of a player.
+     * @param id The player's UUID
+     * @param name The name to show for the player
+     * @param score The new score
+     */
+    public void update(@NotNull UUID id, @NotNull String name, double score) {
+        lock.writeLock().lock();
+        try {
+            set(id, name, score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds to the score of a player, starting from 0 if they aren't ranked yet.
+     * @param id The player's UUID
+     * @param name The name to show for the player
+     * @param amount The amount to add, can be negative
+     * @return The new score
+     */
+    public double add(@NotNull UUID id, @NotNull String name, double amount) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(id);
+            double score = (node == null ? 0D : node.score) + amount;
+            set(id, name, score);
+            return score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player from the ranking.
+     * @param id The player's UUID
+     * @return true if the player was ranked
+     */
+    public boolean remove(@NotNull UUID id) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(id);
+            if (node == null) return false;
+            unlink(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every player from the ranking.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            Arrays.fill(head.next, null);
+            Arrays.fill(head.span, 0);
+            level = 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the score of a player.
+     * @param id The player's UUID
+     * @return The score, or empty if the player isn't ranked
+     */
+    @NotNull
+    public OptionalDouble getScore(@NotNull UUID id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(id);
+            return node == null ? OptionalDouble.empty() : OptionalDouble.of(node.score);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the rank of a player.
+     * @param id The player's UUID
+     * @return The rank starting at 1, or 0 if the player isn't ranked
+     */
+    public int getRank(@NotNull UUID id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(id);
+            if (node == null) return 0;
+            Node x = head;
+            int rank = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && !before(node, x.next[i])) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x == node) return rank;
+            }
+            return rank;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the player at a rank.
+     * @param rank The rank starting at 1
+     * @return The entry, or null if nobody has that rank
+     */
+    @Nullable
+    public Entry get(int rank) {
+        lock.readLock().lock();
+        try {
+            Node node = nodeAt(rank);
+            return node == null ? null : new Entry(node.id, node.name, node.score, rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the best ranked players.
+     * @param limit The maximum amount of players
+     * @return The entries, best first
+     */
+    @NotNull
+    public List<Entry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(limit, nodes.size())));
+            Node x = head.next[0];
+            for (int rank = 1; x != null && rank <= limit; rank++, x = x.next[0]) {
+                entries.add(new Entry(x.id, x.name, x.score, rank));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of ranked players.
+     * @return The amount of players
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exposes this leaderboard as placeholders.
+     * With a prefix of {@code kills}, it registers {@code kills_top_<n>_name}, {@code kills_top_<n>_value}
+     * and {@code kills_rank}, or {@code top_<n>_name}, {@code top_<n>_value} and {@code rank} with an empty prefix.
+     * Missing ranks resolve to an empty string.
+     * @param registry The registry to bind the placeholders in
+     * @param prefix The prefix of the placeholders, can be empty
+     */
+    public void registerPlaceholders(@NotNull PlaceholderRegistry registry, @NotNull String prefix) {
+        String key = prefix.isEmpty() ? "" : prefix + "_";
+        registry.register(key + "top_<n:int>_name", (player, args) -> {
+            Entry entry = get(args.getInt("n"));
+            return entry == null ? "" : entry.name();
+        });
+        registry.register(key + "top_<n:int>_value", (player, args) -> {
+            Entry entry = get(args.getInt("n"));
+            return entry == null ? "" : format(entry.score());
+        });
+        registry.register(key + "rank", (player, args) -> {
+            if (player == null) return "";
+            int rank = getRank(player.getUniqueId());
+            return rank == 0 ? "" : String.valueOf(rank);
+        });
+    }
+
+    private static String format(double score) {
+        if (score == Math.rint(score) && !Double.isInfinite(score) && Math.abs(score) < 1e15) {
+            return String.valueOf((long) score);
+        }
+        return String.format(Locale.ROOT, "%.2f", score);
+    }
+
+    private void set(UUID id, String name, double score) {
+        Node node = nodes.get(id);
+        if (node != null) {
+            if (Double.compare(node.score, score) == 0) {
+                node.name = name;
+                return;
+            }
+            nodes.remove(id);
+            unlink(node);
+        }
+        nodes.put(id, insert(id, name, score));
+    }
+
+    /**
+     * Checks if a ranks before b.
+     */
+    private boolean before(Node a, Node b) {
+        int compare = Double.compare(a.score, b.score);
+        if (compare != 0) return highestFirst ? compare > 0 : compare < 0;
+        return a.id.compareTo(b.id) < 0;
+    }
+
+    private Node insert(UUID id, String name, double score) {
+        Node node = new Node(id, name, score, randomLevel());
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], node)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = node.next.length;
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return node;
+    }
+
+    private void unlink(Node node) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], node)) {
+                x = x.next[i];
+            }
+            if (x.next[i] == node) {
+                x.span[i] += node.span[i] - 1;
+                x.next[i] = node.next[i];
+            } else {
+                x.span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            head.span[level - 1] = 0;
+            level--;
+        }
+    }
+
+    private Node nodeAt(int rank) {
+        if (rank < 1) return null;
+        Node x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) return x;
+        }
+        return null;
+    }
+
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(bits) + 1);
+    }
+
+    /**
+     * A ranked player.
+     * @param id The player's UUID
+     * @param name The player's name
+     * @param score The player's score
+     * @param rank The player's rank, starting at 1
+     */
+    public record Entry(@NotNull UUID id, @NotNull String name, double score, int rank) {
+    }
+
+    private static final class Node {
+        private final UUID id;
+        private final double score;
+        private final Node[] next;
+        private final int[] span;
+        private String name;
+
+        private Node(UUID id, String name, double score, int level) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -1,17 +1,39 @@
 package me.yleoft.zAPI.utility;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Utility class for evaluating mathematical expressions in display conditions.
  * Supports basic arithmetic operations and mathematical functions.
+ *
+ * <p>Expressions are compiled once into a postfix program and cached by source, so evaluating the same
+ * expression again only runs the program on a primitive stack. Expressions can use variables, written as
+ * {@code %name%} or {@code name}, bound when evaluating:</p>
+ * <pre>{@code
+ * MathExpressionEvaluator.Expression price = MathExpressionEvaluator.compile("%base% * 1.5 + round(%tax%)");
+ * double value = price.evaluate(Map.of("base", 10, "tax", "2.4"));
+ * }</pre>
  */
 public class MathExpressionEvaluator {
 
+    private static final int CACHE_SIZE = 1024;
+    private static final BoundedCache<String, Expression> CACHE = new BoundedCache<>(CACHE_SIZE);
+
+    private static final int PUSH_CONSTANT = 0;
+    private static final int PUSH_VARIABLE = 1;
+    private static final int ADD = 2;
+    private static final int SUBTRACT = 3;
+    private static final int MULTIPLY = 4;
+    private static final int DIVIDE = 5;
+    private static final int NEGATE = 6;
+    private static final int SQRT = 7;
+    private static final int ROUND = 8;
+    private static final int ROUND_DOWN = 9;
+
     /**
      * Evaluates a mathematical expression and returns the result.
      *
@@ -21,198 +43,310 @@ public class MathExpressionEvaluator {
      *
      * @param expression The mathematical expression to evaluate
      * @return The result of the evaluation
-     * @throws IllegalArgumentException if the expression is invalid
+     * @throws IllegalArgumentException if the expression is invalid or has variables
      */
     public static double evaluate(@NotNull String expression) throws IllegalArgumentException {
         try {
-            // Remove all whitespace
-            String cleaned = expression.replaceAll("\\s+", "");
-
-            // Process functions first (sqrt, round, roundDown)
-            cleaned = processFunctions(cleaned);
-
-            // Evaluate the expression using shunting yard algorithm
-            return evaluateExpression(cleaned);
+            return compile(expression).evaluate();
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid mathematical expression: " + expression, e);
         }
     }
 
     /**
-     * Process mathematical functions in the expression.
+     * Compiles a mathematical expression, from the cache if possible.
+     *
+     * @param expression The mathematical expression to compile
+     * @return The compiled expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    @NotNull
+    public static Expression compile(@NotNull String expression) throws IllegalArgumentException {
+        return CACHE.get(expression, source -> new Compiler(source).compile());
+    }
+
+    /**
+     * A compiled mathematical expression, safe to evaluate from any thread.
      */
-    private static String processFunctions(@NotNull String expression) {
-        String result = expression;
+    public static final class Expression {
 
-        // Process roundDown() function
-        result = processFunction(result, "roundDown", MathExpressionEvaluator::roundDown);
+        private final String source;
+        private final int[] code;
+        private final double[] constants;
+        private final String[] variables;
+        private final int maxDepth;
 
-        // Process round() function
-        result = processFunction(result, "round", MathExpressionEvaluator::round);
+        private Expression(String source, int[] code, double[] constants, String[] variables, int maxDepth) {
+            this.source = source;
+            this.code = code;
+            this.constants = constants;
+            this.variables = variables;
+            this.maxDepth = maxDepth;
+        }
 
-        // Process sqrt() function
-        result = processFunction(result, "sqrt", Math::sqrt);
+        /**
+         * Evaluates this expression.
+         *
+         * @return The result of the evaluation
+         * @throws IllegalArgumentException if the expression has variables
+         */
+        public double evaluate() {
+            return run(name -> null);
+        }
 
-        return result;
-    }
+        /**
+         * Evaluates this expression with variables.
+         *
+         * @param variables The values by variable name (without the surrounding {@code %}),
+         *                  either numbers or strings holding a number or an expression
+         * @return The result of the evaluation
+         * @throws IllegalArgumentException if a variable isn't bound or isn't a number
+         */
+        public double evaluate(@NotNull Map<String, ?> variables) {
+            return evaluate(variables::get);
+        }
 
-    /**
-     * Process a specific function in the expression.
-     */
-    private static String processFunction(@NotNull String expression,
-                                          @NotNull String functionName,
-                                          @NotNull MathFunction function) {
-        // Pattern to match function calls: functionName(...)
-        Pattern pattern = Pattern.compile(functionName + "\\(([^()]+)\\)");
-        Matcher matcher = pattern.matcher(expression);
-
-        StringBuffer result = new StringBuffer();
-        while (matcher.find()) {
-            String innerExpression = matcher.group(1);
-            // Recursively evaluate the inner expression
-            double innerValue = evaluate(innerExpression);
-            double functionResult = function.apply(innerValue);
-            matcher.appendReplacement(result, String.valueOf(functionResult));
-        }
-        matcher.appendTail(result);
-
-        return result.toString();
+        /**
+         * Evaluates this expression with variables.
+         *
+         * @param variables The function giving the value of a variable name (without the surrounding {@code %}),
+         *                  either a number or a string holding a number or an expression, or null if unbound
+         * @return The result of the evaluation
+         * @throws IllegalArgumentException if a variable isn't bound or isn't a number
+         */
+        public double evaluate(@NotNull Function<String, ?> variables) {
+            return run(variables);
+        }
+
+        private double run(Function<String, ?> resolver) {
+            double[] values = variables.length == 0 ? null : new double[variables.length];
+            for (int i = 0; i < variables.length; i++) {
+                values[i] = toDouble(variables[i], resolver.apply(variables[i]));
+            }
+
+            double[] stack = new double[maxDepth];
+            int top = -1;
+            for (int pc = 0; pc < code.length; pc++) {
+                switch (code[pc]) {
+                    case PUSH_CONSTANT -> stack[++top] = constants[code[++pc]];
+                    case PUSH_VARIABLE -> stack[++top] = values[code[++pc]];
+                    case ADD -> { top--; stack[top] += stack[top + 1]; }
+                    case SUBTRACT -> { top--; stack[top] -= stack[top + 1]; }
+                    case MULTIPLY -> { top--; stack[top] *= stack[top + 1]; }
+                    case DIVIDE -> {
+                        top--;
+                        if (stack[top + 1] == 0) throw new ArithmeticException("Division by zero");
+                        stack[top] /= stack[top + 1];
+                    }
+                    case NEGATE -> stack[top] = -stack[top];
+                    case SQRT -> stack[top] = Math.sqrt(stack[top]);
+                    case ROUND -> stack[top] = Math.round(stack[top]);
+                    case ROUND_DOWN -> stack[top] = Math.floor(stack[top]);
+                    default -> throw new IllegalStateException("Unknown instruction: " + code[pc]);
+                }
+            }
+            return top < 0 ? 0.0 : stack[top];
+        }
+
+        private static double toDouble(String name, @Nullable Object value) {
+            if (value instanceof Number number) return number.doubleValue();
+            if (value == null) throw new IllegalArgumentException("Unbound variable: " + name);
+            String string = value.toString().trim();
+            try {
+                return Double.parseDouble(string);
+            } catch (NumberFormatException e) {
+                // A value like "10+5" is evaluated on its own, as if in parentheses
+                Expression expression = compile(string);
+                if (expression.variables.length > 0) throw new IllegalArgumentException("Variable " + name + " isn't a number: " + string);
+                return expression.evaluate();
+            }
+        }
+
+        /**
+         * Gets the names of the variables of this expression.
+         *
+         * @return An unmodifiable list of variable names, in order of first use
+         */
+        @NotNull
+        public List<String> getVariables() {
+            return List.of(variables);
+        }
+
+        /**
+         * Gets the source this expression was compiled from.
+         *
+         * @return The source
+         */
+        @NotNull
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
     }
 
     /**
-     * Evaluates a mathematical expression using the Shunting Yard algorithm.
+     * Compiles an expression into postfix instructions by recursive descent:
+     * <pre>
+     * expression := term (('+' | '-') term)*
+     * term       := unary (('*' | '/') unary)*
+     * unary      := ('-' | '+') unary | primary
+     * primary    := number | variable | function '(' expression ')' | '(' expression ')'
+     * </pre>
      */
-    private static double evaluateExpression(@NotNull String expression) {
-        Stack<Double> values = new Stack<>();
-        Stack<Character> operators = new Stack<>();
+    private static final class Compiler {
+        private final String source;
+        private final List<Integer> code = new ArrayList<>();
+        private final List<Double> constants = new ArrayList<>();
+        private final List<String> variables = new ArrayList<>();
+        private int pos;
+        private int depth;
+        private int maxDepth;
 
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i);
+        private Compiler(String source) {
+            this.source = source;
+        }
 
-            // Skip whitespace (though it should already be removed)
-            if (Character.isWhitespace(c)) {
-                continue;
+        private Expression compile() {
+            skipWhitespace();
+            if (pos < source.length()) {
+                expression();
+                skipWhitespace();
+                if (pos < source.length()) throw error("Unexpected '" + source.charAt(pos) + "'");
             }
+            int[] program = code.stream().mapToInt(Integer::intValue).toArray();
+            double[] values = constants.stream().mapToDouble(Double::doubleValue).toArray();
+            return new Expression(source, program, values, variables.toArray(new String[0]), Math.max(1, maxDepth));
+        }
 
-            // Handle numbers (including decimals and negative numbers)
-            if (Character.isDigit(c) || c == '.') {
-                StringBuilder number = new StringBuilder();
-                while (i < expression.length() &&
-                        (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
-                    number.append(expression.charAt(i));
-                    i++;
+        private void expression() {
+            term();
+            while (true) {
+                if (accept('+')) {
+                    term();
+                    emit(ADD, -1);
+                } else if (accept('-')) {
+                    term();
+                    emit(SUBTRACT, -1);
+                } else {
+                    return;
                 }
-                i--; // Step back one position
-                values.push(Double.parseDouble(number.toString()));
-            }
-            // Handle opening parenthesis
-            else if (c == '(') {
-                operators.push(c);
             }
-            // Handle closing parenthesis
-            else if (c == ')') {
-                while (!operators.isEmpty() && operators.peek() != '(') {
-                    values.push(applyOperator(operators.pop(), values.pop(), values.pop()));
-                }
-                if (!operators.isEmpty()) {
-                    operators.pop(); // Remove '('
+        }
+
+        private void term() {
+            unary();
+            while (true) {
+                if (accept('*')) {
+                    unary();
+                    emit(MULTIPLY, -1);
+                } else if (accept('/')) {
+                    unary();
+                    emit(DIVIDE, -1);
+                } else {
+                    return;
                 }
             }
-            // Handle operators
-            else if (isOperator(c)) {
-                // Handle negative numbers (unary minus)
-                if (c == '-' && (i == 0 || expression.charAt(i - 1) == '(' || isOperator(expression.charAt(i - 1)))) {
-                    // This is a negative number
-                    StringBuilder number = new StringBuilder("-");
-                    i++;
-                    while (i < expression.length() &&
-                            (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
-                        number.append(expression.charAt(i));
-                        i++;
-                    }
-                    i--; // Step back one position
-                    values.push(Double.parseDouble(number.toString()));
+        }
+
+        private void unary() {
+            if (accept('-')) {
+                unary();
+                emit(NEGATE, 0);
+            } else if (accept('+')) {
+                unary();
+            } else {
+                primary();
+            }
+        }
+
+        private void primary() {
+            skipWhitespace();
+            if (pos >= source.length()) throw error("Unexpected end");
+            char c = source.charAt(pos);
+
+            if (Character.isDigit(c) || c == '.') {
+                int start = pos;
+                while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) pos++;
+                push(PUSH_CONSTANT, constants.size());
+                constants.add(Double.parseDouble(source.substring(start, pos)));
+            } else if (c == '(') {
+                pos++;
+                expression();
+                expect(')');
+            } else if (c == '%') {
+                int end = source.indexOf('%', pos + 1);
+                if (end < 0 || end == pos + 1) throw error("Unclosed variable");
+                variable(source.substring(pos + 1, end));
+                pos = end + 1;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = pos;
+                while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) pos++;
+                String name = source.substring(start, pos);
+                int function = function(name);
+                if (function >= 0 && accept('(')) {
+                    expression();
+                    expect(')');
+                    emit(function, 0);
                 } else {
-                    // Process operators with precedence
-                    while (!operators.isEmpty() && precedence(c) <= precedence(operators.peek())) {
-                        values.push(applyOperator(operators.pop(), values.pop(), values.pop()));
-                    }
-                    operators.push(c);
+                    variable(name);
                 }
+            } else {
+                throw error("Unexpected '" + c + "'");
             }
         }
 
-        // Apply remaining operators
-        while (!operators.isEmpty()) {
-            values.push(applyOperator(operators.pop(), values.pop(), values.pop()));
+        private static int function(String name) {
+            return switch (name) {
+                case "sqrt" -> SQRT;
+                case "round" -> ROUND;
+                case "roundDown" -> ROUND_DOWN;
+                default -> -1;
+            };
         }
 
-        return values.isEmpty() ? 0.0 : values.pop();
-    }
+        private void variable(String name) {
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                index = variables.size();
+                variables.add(name);
+            }
+            push(PUSH_VARIABLE, index);
+        }
 
-    /**
-     * Checks if a character is an operator.
-     */
-    private static boolean isOperator(char c) {
-        return c == '+' || c == '-' || c == '*' || c == '/';
-    }
+        private void push(int instruction, int operand) {
+            code.add(instruction);
+            code.add(operand);
+            maxDepth = Math.max(maxDepth, ++depth);
+        }
 
-    /**
-     * Returns the precedence of an operator.
-     */
-    private static int precedence(char operator) {
-        switch (operator) {
-            case '+':
-            case '-':
-                return 1;
-            case '*':
-            case '/':
-                return 2;
-            default:
-                return 0;
+        private void emit(int instruction, int stackChange) {
+            code.add(instruction);
+            depth += stackChange;
         }
-    }
 
-    /**
-     * Applies an operator to two operands.
-     */
-    private static double applyOperator(char operator, double b, double a) {
-        switch (operator) {
-            case '+':
-                return a + b;
-            case '-':
-                return a - b;
-            case '*':
-                return a * b;
-            case '/':
-                if (b == 0) {
-                    throw new ArithmeticException("Division by zero");
-                }
-                return a / b;
-            default:
-                throw new IllegalArgumentException("Unknown operator: " + operator);
+        private boolean accept(char c) {
+            skipWhitespace();
+            if (pos < source.length() && source.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
         }
-    }
 
-    /**
-     * Rounds a number using standard rounding rules (0.5 rounds up).
-     */
-    private static double round(double value) {
-        return Math.round(value);
-    }
+        private void expect(char c) {
+            if (!accept(c)) throw error("Expected '" + c + "'");
+        }
 
-    /**
-     * Rounds a number down (floor function).
-     */
-    private static double roundDown(double value) {
-        return Math.floor(value);
-    }
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) pos++;
+        }
 
-    /**
-     * Functional interface for mathematical functions.
-     */
-    @FunctionalInterface
-    private interface MathFunction {
-        double apply(double value);
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + pos + " in expression: " + source);
+        }
     }
-}
\ No newline at end of file
+}
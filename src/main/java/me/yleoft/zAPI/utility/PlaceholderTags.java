@@ -0,0 +1,105 @@
+package me.yleoft.zAPI.utility;
+
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Custom placeholders ({@code %slot%}, {@code %page%}, ...) resolved by MiniMessage while parsing,
+ * instead of being replaced in the string one entry at a time.
+ *
+ * <p>{@link #rewrite(String)} turns every known {@code %key%} into a {@code <zapi:key>} tag in a single scan,
+ * and this resolver fills each tag with a map lookup during the parse, so the cost doesn't grow with the size
+ * of the map. Values are parsed on their own and inserted as children: they inherit the surrounding style,
+ * but can't close or open tags around them. Placeholders inside a tag, e.g.
+ * {@code <click:run_command:/tp %player%>}, are still replaced as text.</p>
+ */
+public final class PlaceholderTags implements TagResolver {
+
+    /**
+     * The name of the tag holding a placeholder, e.g. {@code <zapi:slot>} for {@code %slot%}.
+     */
+    public static final String TAG = "zapi";
+
+    private final Map<String, String> placeholders;
+
+    /**
+     * Creates a resolver for custom placeholders.
+     * @param placeholders The values by placeholder, including the surrounding {@code %} (e.g. {@code "%slot%"})
+     */
+    public PlaceholderTags(@NotNull Map<String, String> placeholders) {
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Turns every known placeholder of a string into a tag resolved by this resolver.
+     * @param text The MiniMessage string
+     * @return The rewritten string, the same instance if it has no known placeholder
+     */
+    @NotNull
+    public String rewrite(@NotNull String text) {
+        int start = text.indexOf('%');
+        if (start < 0 || placeholders.isEmpty()) return text;
+
+        StringBuilder sb = null;
+        int depth = 0;
+        int last = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < length) {
+                i++;
+            } else if (c == '<') {
+                depth++;
+            } else if (c == '>' && depth > 0) {
+                depth--;
+            } else if (c == '%') {
+                int end = i + 1;
+                while (end < length && text.charAt(end) != '%' && !Character.isWhitespace(text.charAt(end))) end++;
+                if (end >= length || text.charAt(end) != '%' || end == i + 1) continue;
+
+                String token = text.substring(i, end + 1);
+                String value = placeholders.get(token);
+                if (value == null) continue;
+
+                if (sb == null) sb = new StringBuilder(length + 16);
+                sb.append(text, last, i);
+                if (depth > 0 || !isArgument(token)) {
+                    sb.append(value);
+                } else {
+                    sb.append('<').append(TAG).append(':').append(token, 1, token.length() - 1).append('>');
+                }
+                last = end + 1;
+                i = end;
+            }
+        }
+        if (sb == null) return text;
+        return sb.append(text, last, length).toString();
+    }
+
+    private static boolean isArgument(String token) {
+        for (int i = 1; i < token.length() - 1; i++) {
+            char c = token.charAt(i);
+            if (c == ':' || c == '<' || c == '>' || c == '\'' || c == '"' || c == '\\') return false;
+        }
+        return true;
+    }
+
+    @Override
+    public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+        if (!has(name) || !arguments.hasNext()) return null;
+        String value = placeholders.get('%' + arguments.pop().value() + '%');
+        if (value == null) return null;
+        return Tag.selfClosingInserting(TextFormatter.deserialize(value));
+    }
+
+    @Override
+    public boolean has(@NotNull String name) {
+        return TAG.equals(name);
+    }
+}
@@ -1,15 +1,28 @@
 package me.yleoft.zAPI.utility;
 
 import me.clip.placeholderapi.PlaceholderAPI;
+import me.yleoft.zAPI.configuration.MessageTemplate;
 import me.yleoft.zAPI.configuration.Messages;
+import me.yleoft.zAPI.handlers.PlaceholderCache;
+import me.yleoft.zAPI.handlers.PlaceholderMetrics;
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
 import me.yleoft.zAPI.hooks.HookRegistry;
 import me.yleoft.zAPI.zAPI;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +42,21 @@ public abstract class TextFormatter {
     );
     private static final String[] TIME_SUFFIXES = {"y", "mo", "w", "d", "h", "m", "s"};
 
+    /**
+     * Default limit of the component cache, in characters of cached strings.
+     */
+    public static final int DEFAULT_COMPONENT_CACHE_LIMIT = 1 << 18;
+    private static final BoundedCache<String, Component> COMPONENT_CACHE =
+            new BoundedCache<>(DEFAULT_COMPONENT_CACHE_LIMIT, (string, component) -> string.length() + 32);
+    private static final int TEMPLATE_CACHE_LIMIT = 1 << 16;
+    private static final BoundedCache<String, MessageTemplate> TEMPLATE_CACHE =
+            new BoundedCache<>(TEMPLATE_CACHE_LIMIT, (string, template) -> string.length() + 32);
+
+    private static final Executor ASYNC = task -> zAPI.getScheduler().runAsync(wrappedTask -> task.run());
+
+    private static final int HAS_PLACEHOLDER = 1;
+    private static final int HAS_MARKUP = 2;
+
     /**
      * Check if a string starts with a given prefix, ignoring case.
      * @param full The full string to check
@@ -47,7 +75,86 @@ public abstract class TextFormatter {
      */
     @NotNull
     public static Component transform(@Nullable OfflinePlayer p, @NotNull String string) {
-        return zAPI.getMiniMessage().deserialize(transformString(p, string));
+        int flags = classify(string);
+        if ((flags & HAS_PLACEHOLDER) != 0) {
+            string = applyPlaceholders(p, string);
+            flags = classify(string);
+        }
+        return deserialize(string, flags);
+    }
+
+    /**
+     * Transform a string by applying custom placeholders, color codes, hex codes and placeholders.
+     * Custom placeholders are resolved by MiniMessage through {@link PlaceholderTags} rather than replaced
+     * in the string, so their values can't break the surrounding markup.
+     * @param p The player to apply placeholders for
+     * @param string The string to transform
+     * @param placeholders Custom placeholders by token (e.g. {@code "%slot%"}), checked before any other placeholder
+     * @return The transformed component
+     */
+    @NotNull
+    public static Component transform(@Nullable OfflinePlayer p, @NotNull String string, @Nullable Map<String, String> placeholders) {
+        if (placeholders == null || placeholders.isEmpty()) return transform(p, string);
+        PlaceholderTags tags = new PlaceholderTags(placeholders);
+        String rewritten = tags.rewrite(string);
+        if (rewritten == string) return transform(p, string);
+        return deserialize(applyPlaceholders(p, rewritten), tags);
+    }
+
+    private static Component deserialize(String string, PlaceholderTags tags) {
+        if ((classify(string) & HAS_MARKUP) == 0) return Component.text(string);
+        return zAPI.getMiniMessage().deserialize(string, tags);
+    }
+
+    /**
+     * Scans a string once for the characters that trigger each formatting stage:
+     * {@code %} for placeholders, and {@code <}, {@code \} or {@code §} for MiniMessage.
+     * @param string The string to scan
+     * @return The {@link #HAS_PLACEHOLDER} and {@link #HAS_MARKUP} flags of the string
+     */
+    private static int classify(@NotNull String string) {
+        int flags = 0;
+        for (int i = 0, length = string.length(); i < length && flags != (HAS_PLACEHOLDER | HAS_MARKUP); i++) {
+            char c = string.charAt(i);
+            if (c == '%') flags |= HAS_PLACEHOLDER;
+            else if (c == '<' || c == '\\' || c == '\u00A7') flags |= HAS_MARKUP;
+        }
+        return flags;
+    }
+
+    /**
+     * Deserialize a MiniMessage string, reusing the cached component if the same string was parsed recently.
+     * Components are immutable, so the cached instance is shared between callers.
+     * @param string The string to deserialize, with placeholders already applied
+     * @return The component
+     */
+    @NotNull
+    public static Component deserialize(@NotNull String string) {
+        return deserialize(string, classify(string));
+    }
+
+    private static Component deserialize(String string, int flags) {
+        // Plain text parses to a single text component, skip the parser and the cache
+        if ((flags & HAS_MARKUP) == 0) return Component.text(string);
+        return COMPONENT_CACHE.get(string, zAPI.getMiniMessage()::deserialize);
+    }
+
+    /**
+     * Get the component cache used by {@link #deserialize(String)}, e.g. to read its hit ratio.
+     * Its weight is the length of the cached strings plus a fixed overhead per entry.
+     * @return The component cache
+     */
+    @NotNull
+    public static BoundedCache<String, Component> getComponentCache() {
+        return COMPONENT_CACHE;
+    }
+
+    /**
+     * Set the limit of the component cache, 0 disables it.
+     * @param limit The maximum total length of the cached strings, see {@link #DEFAULT_COMPONENT_CACHE_LIMIT}
+     */
+    public static void setComponentCacheLimit(int limit) {
+        COMPONENT_CACHE.setMaxSize(limit);
     }
 
     /**
@@ -62,14 +169,73 @@ public abstract class TextFormatter {
     }
 
     /**
-     * Transform a string by applying color codes, hex codes and placeholders.
+     * Transform a component by applying placeholders to its text, hover text and click values.
+     * The tree is walked without serializing it, each distinct placeholder is resolved once and
+     * unchanged parts of the tree are shared with the original component.
+     * A placeholder split across differently styled parts isn't matched.
      * @param p The player to apply placeholders for
      * @param component The component to transform
-     * @return The transformed component
+     * @return The transformed component, the same instance if nothing changed
      */
     @NotNull
     public static Component transform(@Nullable OfflinePlayer p, @NotNull Component component) {
-        return zAPI.getMiniMessage().deserialize(transformString(p, component));
+        try (PlaceholderCache.RenderPass ignored = PlaceholderCache.beginRenderPass()) {
+            return applyPlaceholders(p, component, new HashMap<>());
+        }
+    }
+
+    private static Component applyPlaceholders(@Nullable OfflinePlayer p, Component component, Map<String, String> values) {
+        Component result = component;
+
+        List<Component> children = component.children();
+        List<Component> newChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component newChild = applyPlaceholders(p, child, values);
+            if (newChild != child) {
+                if (newChildren == null) newChildren = new ArrayList<>(children);
+                newChildren.set(i, newChild);
+            }
+        }
+        if (newChildren != null) result = result.children(newChildren);
+
+        HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null && hover.value() instanceof Component text) {
+            Component newText = applyPlaceholders(p, text, values);
+            if (newText != text) result = result.hoverEvent(HoverEvent.showText(newText));
+        }
+        ClickEvent click = component.clickEvent();
+        // Only text payloads can hold placeholders, page numbers, dialogs and custom payloads are kept as is
+        if (click != null && click.payload() instanceof ClickEvent.Payload.Text payload) {
+            String value = applyPlaceholders(p, payload.value(), values, false);
+            if (!value.equals(payload.value())) {
+                result = result.clickEvent(ClickEvent.clickEvent(click.action(), ClickEvent.Payload.string(value)));
+            }
+        }
+
+        if (result instanceof TranslatableComponent translatable) {
+            List<TranslationArgument> arguments = translatable.arguments();
+            List<TranslationArgument> newArguments = null;
+            for (int i = 0; i < arguments.size(); i++) {
+                if (!(arguments.get(i).value() instanceof Component argument)) continue;
+                Component newArgument = applyPlaceholders(p, argument, values);
+                if (newArgument != argument) {
+                    if (newArguments == null) newArguments = new ArrayList<>(arguments);
+                    newArguments.set(i, TranslationArgument.component(newArgument));
+                }
+            }
+            if (newArguments != null) result = translatable.arguments(newArguments);
+        }
+
+        if (!(result instanceof TextComponent text)) return result;
+        String content = text.content();
+        String plain = applyPlaceholders(p, content, values, false);
+        if (plain.equals(content)) return result;
+        if (plain.indexOf('<') < 0) return text.content(plain);
+
+        // A replacement may carry MiniMessage tags, parse it under this node's style
+        Component parsed = deserialize(applyPlaceholders(p, content, values, true));
+        return Component.text().style(text.style()).append(parsed).append(text.children()).build();
     }
 
     /**
@@ -123,20 +289,230 @@ public abstract class TextFormatter {
         return transformString(null, component);
     }
 
+    /**
+     * Transform every line by applying color codes, hex codes and placeholders, e.g. for item lore.
+     * Each distinct placeholder is resolved once for all the lines.
+     * @param p The player to apply placeholders for
+     * @param lines The lines to transform
+     * @return The transformed components, in the same order
+     */
+    @NotNull
+    public static List<Component> transformAll(@Nullable OfflinePlayer p, @NotNull List<String> lines) {
+        List<String> resolved = transformStringAll(p, lines);
+        List<Component> components = new ArrayList<>(resolved.size());
+        for (String line : resolved) {
+            components.add(deserialize(line));
+        }
+        return components;
+    }
+
+    /**
+     * Transform every line like {@link #transform(OfflinePlayer, String, Map)}, e.g. for item lore.
+     * Each distinct placeholder is resolved once for all the lines.
+     * @param p The player to apply placeholders for
+     * @param lines The lines to transform
+     * @param placeholders Custom placeholders by token (e.g. {@code "%slot%"}), checked before any other placeholder
+     * @return The transformed components, in the same order
+     */
+    @NotNull
+    public static List<Component> transformAll(@Nullable OfflinePlayer p, @NotNull List<String> lines,
+                                               @Nullable Map<String, String> placeholders) {
+        if (placeholders == null || placeholders.isEmpty()) return transformAll(p, lines);
+        PlaceholderTags tags = new PlaceholderTags(placeholders);
+        List<String> rewritten = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            rewritten.add(tags.rewrite(line));
+        }
+        List<Component> components = new ArrayList<>(lines.size());
+        for (String line : transformStringAll(p, rewritten)) {
+            components.add(deserialize(line, tags));
+        }
+        return components;
+    }
+
+    /**
+     * Apply placeholders to every line, resolving each distinct placeholder once for all the lines.
+     * @param p The player to apply placeholders for
+     * @param lines The lines to transform
+     * @return The transformed lines, in the same order
+     */
+    @NotNull
+    public static List<String> transformStringAll(@Nullable OfflinePlayer p, @NotNull List<String> lines) {
+        Map<String, String> values = new HashMap<>();
+        List<String> result = new ArrayList<>(lines.size());
+        try (PlaceholderCache.RenderPass ignored = PlaceholderCache.beginRenderPass()) {
+            for (String line : lines) {
+                result.add(applyPlaceholders(p, line, values, false));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces every {@code %token%} of a line, resolving tokens missing from values and remembering them.
+     * Like PlaceholderAPI, a token runs to the next {@code %} and can hold spaces, e.g. {@code %math_{a} + {b}%}.
+     * An unresolved token keeps its closing {@code %}, so it can still open the next token.
+     * With escapeLiterals, the text around the replacements is escaped so only the replacements carry tags.
+     */
+    private static String applyPlaceholders(@Nullable OfflinePlayer p, String line, Map<String, String> values,
+                                            boolean escapeLiterals) {
+        int start = line.indexOf('%');
+        if (start < 0) return line;
+
+        int length = line.length();
+        StringBuilder sb = null;
+        int last = 0;
+        for (int i = start; i < length; i++) {
+            if (line.charAt(i) != '%') continue;
+            int end = i + 1;
+            while (end < length && line.charAt(end) != '%') end++;
+            if (end >= length || line.charAt(end) != '%') {
+                i = end;
+                continue;
+            }
+            if (end == i + 1) continue;
+
+            String token = line.substring(i, end + 1);
+            String value = values.get(token);
+            if (value == null) {
+                value = resolvePlaceholders(p, token);
+                values.put(token, value);
+            }
+            if (value.equals(token)) {
+                i = end - 1;
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(length + 16);
+            appendLiteral(sb, line.substring(last, i), escapeLiterals).append(value);
+            last = end + 1;
+            i = end;
+        }
+        if (sb == null) return line;
+        return appendLiteral(sb, line.substring(last), escapeLiterals).toString();
+    }
+
+    private static StringBuilder appendLiteral(StringBuilder sb, String literal, boolean escape) {
+        return sb.append(escape ? zAPI.getMiniMessage().escapeTags(literal) : literal);
+    }
+
+    /**
+     * Transform a string like {@link #transform(OfflinePlayer, String)}, from any thread.
+     * @param p The player to apply placeholders for
+     * @param string The string to transform
+     * @return A future completed with the transformed component
+     * @see #transformStringAsync(OfflinePlayer, String)
+     */
+    @NotNull
+    public static CompletableFuture<Component> transformAsync(@Nullable OfflinePlayer p, @NotNull String string) {
+        return transformStringAsync(p, string).thenApply(TextFormatter::deserialize);
+    }
+
+    /**
+     * Apply placeholders like {@link #transformString(OfflinePlayer, String)}, from any thread.
+     *
+     * <p>Placeholders resolve in the same order as {@link #applyPlaceholders(OfflinePlayer, String)}. PlaceholderAPI and
+     * handlers that aren't thread-safe may touch the world, so they are resolved on the player's entity scheduler
+     * (the global one without an online player), unless the calling thread already owns it.
+     * A {@link PlaceholdersHandler#isThreadSafe() thread-safe} handler is resolved on the calling thread, or on an
+     * async task once PlaceholderAPI is done.</p>
+     * @param p The player to apply placeholders for
+     * @param string The string to transform
+     * @return A future completed with the transformed string
+     */
+    @NotNull
+    public static CompletableFuture<String> transformStringAsync(@Nullable OfflinePlayer p, @NotNull String string) {
+        PlaceholdersHandler handler = zAPI.getPlaceholdersHandler();
+        boolean papi = p != null && HookRegistry.PAPI.exists();
+        Player player = p != null ? p.getPlayer() : null;
+
+        if (string.indexOf('%') < 0 || (!papi && handler.isThreadSafe()) || ownsThread(player)) {
+            try {
+                return CompletableFuture.completedFuture(applyPlaceholders(p, string));
+            } catch (Throwable throwable) {
+                return CompletableFuture.failedFuture(throwable);
+            }
+        }
+
+        if (!handler.isThreadSafe()) {
+            return supplyOnOwner(player, () -> applyPlaceholders(p, string));
+        }
+
+        // PlaceholderAPI goes first on the owner, the thread-safe handler then runs off it
+        return supplyOnOwner(player, () -> setPapiPlaceholders(p, string))
+                .thenApplyAsync(resolved -> applyOwnPlaceholders(p, resolved), ASYNC);
+    }
+
+    private static boolean ownsThread(@Nullable Player player) {
+        if (player != null) return zAPI.getScheduler().isOwnedByCurrentRegion(player);
+        return zAPI.getScheduler().isGlobalTickThread();
+    }
+
+    private static CompletableFuture<String> supplyOnOwner(@Nullable Player player, @NotNull Supplier<String> supplier) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        };
+        if (player != null) {
+            zAPI.getScheduler().runAtEntityWithFallback(player, wrappedTask -> task.run(),
+                    () -> zAPI.getScheduler().runNextTick(wrappedTask -> task.run()));
+        } else {
+            zAPI.getScheduler().runNextTick(wrappedTask -> task.run());
+        }
+        return future;
+    }
+
+    /**
+     * Send a message to every player, applying placeholders for each of them.
+     * The message is parsed once and rendered once per distinct set of placeholder values,
+     * so players that get the same result share the same component.
+     * Compiled messages are cached, broadcasting the same message again doesn't parse it again.
+     * @param players The players to send the message to
+     * @param string The message to send
+     */
+    public static void broadcast(@NotNull Collection<? extends Player> players, @NotNull String string) {
+        TEMPLATE_CACHE.get(string, MessageTemplate::compile).broadcast(players, null);
+    }
+
     /**
      * Apply placeholders to a string for a specific player.
+     * PlaceholderAPI and the placeholders handler may only be thread-safe on the player's thread,
+     * use {@link #transformStringAsync(OfflinePlayer, String)} from other threads.
      * @param p The player to apply placeholders for
      * @param string The string to apply placeholders to
      * @return The string with placeholders applied
      */
     @NotNull
     public static String applyPlaceholders(@Nullable final OfflinePlayer p, @NotNull String string) {
+        if (string.indexOf('%') < 0) return string;
+        return resolvePlaceholders(p, string);
+    }
+
+    private static String resolvePlaceholders(@Nullable OfflinePlayer p, @NotNull String string) {
+        long start = PlaceholderMetrics.start();
+        String original = string;
         if (p != null && HookRegistry.PAPI.exists())
-            string = PlaceholderAPI.setPlaceholders(p, string);
+            string = setPapiPlaceholders(p, string);
+        string = applyOwnPlaceholders(p, string);
+        PlaceholderMetrics.record(PlaceholderMetrics.Source.FORMATTER, original, start);
+        return string;
+    }
+
+    private static String applyOwnPlaceholders(@Nullable OfflinePlayer p, @NotNull String string) {
         string = string.replace("%prefix%", Messages.getPluginPrefix());
         return zAPI.getPlaceholdersHandler().applyPlaceholders(p, string);
     }
 
+    private static String setPapiPlaceholders(@NotNull OfflinePlayer p, @NotNull String string) {
+        long start = PlaceholderMetrics.start();
+        String result = PlaceholderAPI.setPlaceholders(p, string);
+        PlaceholderMetrics.record(PlaceholderMetrics.Source.PAPI, string, start);
+        return result;
+    }
+
     /**
      * Check if a string is an integer.
      * @param strNum The string to check
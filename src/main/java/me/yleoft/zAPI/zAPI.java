@@ -63,6 +63,11 @@ public abstract class zAPI {
             public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
                 return "";
             }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
         };
     }
 
@@ -70,7 +75,7 @@ public abstract class zAPI {
     private static FoliaLib foliaLib;
     private static Logger logger;
     private static Logger pluginLogger;
-    private static PlaceholdersHandler placeholdersHandler;
+    private static volatile PlaceholdersHandler placeholdersHandler;
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
     public static boolean useNBTAPI = false;
 
@@ -0,0 +1,125 @@
+package me.yleoft.zAPI.processor;
+
+import me.yleoft.zAPI.configuration.MessageKeys;
+import me.yleoft.zAPI.configuration.YAMLBuilder;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor for {@link MessageKeys}.
+ * Reads the default language file and generates an enum with one {@link me.yleoft.zAPI.configuration.MessageKey} per path.
+ */
+@SupportedAnnotationTypes("me.yleoft.zAPI.configuration.MessageKeys")
+@SupportedOptions(MessageKeysProcessor.RESOURCES_OPTION)
+public class MessageKeysProcessor extends AbstractProcessor {
+
+    static final String RESOURCES_OPTION = "zapi.resources";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(MessageKeys.class)) {
+            MessageKeys annotation = element.getAnnotation(MessageKeys.class);
+            File file = findResource(annotation.value());
+            if (file == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Language file not found: " + annotation.value(), element);
+                continue;
+            }
+
+            PackageElement pkg = processingEnv.getElementUtils().getPackageOf(element);
+            String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+            Set<String> paths = new YAMLBuilder(file).getFlattenedValues().keySet();
+
+            try {
+                writeEnum(packageName, annotation.name(), annotation.value(), paths, element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to generate " + annotation.name() + ": " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private File findResource(String path) {
+        for (StandardLocation location : new StandardLocation[]{StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH}) {
+            try {
+                FileObject resource = processingEnv.getFiler().getResource(location, "", path);
+                File file = new File(resource.toUri());
+                if (file.isFile()) return file;
+            } catch (IOException | IllegalArgumentException ignored) {
+            }
+        }
+        String resources = processingEnv.getOptions().get(RESOURCES_OPTION);
+        if (resources != null) {
+            File file = new File(resources, path);
+            if (file.isFile()) return file;
+        }
+        return null;
+    }
+
+    private void writeEnum(String packageName, String name, String source, Set<String> paths, Element origin) throws IOException {
+        String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, origin);
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n * Message keys of {@code ").append(source).append("}, generated by zAPI.\n */\n");
+        sb.append("public enum ").append(name).append(" implements me.yleoft.zAPI.configuration.MessageKey {\n\n");
+
+        Set<String> constants = new HashSet<>();
+        Iterator<String> iterator = paths.iterator();
+        while (iterator.hasNext()) {
+            String path = iterator.next();
+            String constant = toConstant(path);
+            while (!constants.add(constant)) constant = constant + "_";
+            sb.append("    ").append(constant).append("(\"").append(escape(path)).append("\")")
+                    .append(iterator.hasNext() ? ",\n" : ";\n");
+        }
+        if (paths.isEmpty()) sb.append("    ;\n");
+
+        sb.append("\n    private final String path;\n\n");
+        sb.append("    ").append(name).append("(String path) {\n        this.path = path;\n    }\n\n");
+        sb.append("    @Override\n    public String path() {\n        return path;\n    }\n}\n");
+
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    static String toConstant(String path) {
+        StringBuilder sb = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+        }
+        if (sb.isEmpty() || !Character.isJavaIdentifierStart(sb.charAt(0))) sb.insert(0, '_');
+        String constant = sb.toString();
+        return SourceVersion.isKeyword(constant) ? constant + "_" : constant;
+    }
+
+    private static String escape(String path) {
+        return path.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
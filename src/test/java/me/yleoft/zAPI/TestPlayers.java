@@ -0,0 +1,119 @@
+package me.yleoft.zAPI;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Test-only players, backed by a proxy answering the few methods zAPI calls.
+ * Any other method returns null, or the default value of a primitive return type.
+ *
+ * <pre>{@code
+ * Player player = TestPlayers.builder().name("Steve").permissions("chat.vip").build();
+ * }</pre>
+ */
+public final class TestPlayers {
+
+    private TestPlayers() {}
+
+    /**
+     * Creates an online player with a random UUID.
+     * @return The player
+     */
+    public static Player player() {
+        return builder().build();
+    }
+
+    /**
+     * Starts building a player.
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final UUID uuid = UUID.randomUUID();
+        private final Set<String> permissions = new HashSet<>();
+        private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        private String name = "Player";
+        private Locale locale = Locale.US;
+        private boolean online = true;
+
+        private Builder() {}
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder locale(Locale locale) {
+            this.locale = locale;
+            return this;
+        }
+
+        public Builder permissions(String... permissions) {
+            this.permissions.addAll(List.of(permissions));
+            return this;
+        }
+
+        public Builder online(boolean online) {
+            this.online = online;
+            return this;
+        }
+
+        /**
+         * Answers a method of the player, e.g. to record what it was sent.
+         * @param method The method name
+         * @param answer The answer, given the call's arguments
+         * @return This builder for chaining
+         */
+        public Builder on(String method, Function<Object[], Object> answer) {
+            answers.put(method, answer);
+            return this;
+        }
+
+        public Player build() {
+            return proxy(Player.class);
+        }
+
+        public OfflinePlayer buildOffline() {
+            return proxy(OfflinePlayer.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends OfflinePlayer> T proxy(Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Function<Object[], Object> answer = answers.get(method.getName());
+                if (answer != null) return answer.apply(args);
+                return switch (method.getName()) {
+                    case "getUniqueId" -> uuid;
+                    case "getName" -> name;
+                    case "getPlayer" -> proxy instanceof Player ? proxy : null;
+                    case "isOnline" -> online;
+                    case "locale" -> locale;
+                    case "hasPermission" -> args[0] instanceof String permission && permissions.contains(permission);
+                    case "hashCode" -> uuid.hashCode();
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestPlayer[" + name + "]";
+                    default -> defaultValue(method.getReturnType());
+                };
+            });
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (!type.isPrimitive() || type == void.class) return null;
+            if (type == boolean.class) return false;
+            if (type == char.class) return '\0';
+            if (type == long.class) return 0L;
+            if (type == float.class) return 0F;
+            if (type == double.class) return 0D;
+            if (type == int.class) return 0;
+            if (type == short.class) return (short) 0;
+            return (byte) 0;
+        }
+    }
+}
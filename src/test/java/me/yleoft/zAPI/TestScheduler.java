@@ -0,0 +1,79 @@
+package me.yleoft.zAPI;
+
+import com.tcoded.folialib.impl.PlatformScheduler;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Test-only scheduler, queueing entity and next-tick tasks until {@link #runScheduled()} is called.
+ * Any other scheduling method throws.
+ *
+ * <pre>{@code
+ * TestScheduler scheduler = new TestScheduler();
+ * zAPI.setScheduler(scheduler.scheduler());
+ * }</pre>
+ */
+public final class TestScheduler {
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private boolean owner;
+
+    /**
+     * Checks if the current thread owns every player and the global region.
+     * True only while queued tasks run, unless set with {@link #setOwner(boolean)}.
+     * @return true if owned
+     */
+    public boolean isOwner() {
+        return owner;
+    }
+
+    public void setOwner(boolean owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Gets the amount of queued tasks.
+     * @return The amount of tasks
+     */
+    public int pending() {
+        return scheduled.size();
+    }
+
+    /**
+     * Runs the queued tasks as their owner.
+     */
+    public void runScheduled() {
+        owner = true;
+        List<Runnable> tasks = List.copyOf(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+        owner = false;
+    }
+
+    /**
+     * Creates the scheduler to pass to {@link zAPI#setScheduler(PlatformScheduler)}.
+     * @return The scheduler
+     */
+    @SuppressWarnings("unchecked")
+    public PlatformScheduler scheduler() {
+        return (PlatformScheduler) Proxy.newProxyInstance(PlatformScheduler.class.getClassLoader(),
+                new Class<?>[]{PlatformScheduler.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "isOwnedByCurrentRegion", "isGlobalTickThread" -> owner;
+                    case "runAtEntityWithFallback" -> queue((Consumer<WrappedTask>) args[1]);
+                    case "runNextTick" -> queue((Consumer<WrappedTask>) args[0]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestScheduler";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Object queue(Consumer<WrappedTask> task) {
+        scheduled.add(() -> task.accept(null));
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package me.yleoft.zAPI.chat;
+
+import me.yleoft.zAPI.TestPlayers;
+import me.yleoft.zAPI.TestScheduler;
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatFormatterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+            @Override
+            public @NotNull String getIdentifier() {
+                return "chat";
+            }
+
+            @Override
+            public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                calls.incrementAndGet();
+                return params.equals("rank") ? "VIP" : null;
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        zAPI.resetPlaceholdersHandler();
+        zAPI.setScheduler(null);
+    }
+
+    private static Player player(String name, String... permissions) {
+        return TestPlayers.builder().name(name).permissions(permissions).build();
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    @Test
+    void render_usesTheHighestPriorityFormatTheSenderHas() {
+        ChatFormatter formatter = new ChatFormatter().setFormats(List.of(
+                new ChatFormatter.Format("default", "", 0, "<gray>%player%: %message%"),
+                new ChatFormatter.Format("vip", "chat.vip", 10, "<gold>[%chat_rank%] %player%</gold>: <white>%message%")));
+
+        Component message = Component.text("<red>hi %chat_rank%");
+        assertEquals("Steve: <red>hi %chat_rank%", plain(formatter.render(player("Steve"), message)));
+        assertEquals("[VIP] Alex: <red>hi %chat_rank%", plain(formatter.render(player("Alex", "chat.vip"), message)));
+        assertEquals(List.of("vip", "default"), formatter.getFormats().stream().map(ChatFormatter.Format::name).toList());
+    }
+
+    @Test
+    void render_reusesTheSendersFormatUntilInvalidated() {
+        ChatFormatter formatter = new ChatFormatter().setFormats(List.of(
+                new ChatFormatter.Format("default", "", 0, "[%chat_rank%] %message%")));
+        Player steve = player("Steve");
+
+        assertEquals("[VIP] one", plain(formatter.render(steve, Component.text("one"))));
+        assertEquals("[VIP] two", plain(formatter.render(steve, Component.text("two"))));
+        assertEquals(1, calls.get());
+
+        formatter.invalidate(steve.getUniqueId());
+        formatter.render(steve, Component.text("three"));
+        assertEquals(2, calls.get());
+
+        formatter.setFormats(List.of(new ChatFormatter.Format("plain", "", 0, "> %message%")));
+        assertEquals("> four", plain(formatter.render(steve, Component.text("four"))));
+    }
+
+    @Test
+    void render_returnsNullWithoutAnApplicableFormat() {
+        ChatFormatter formatter = new ChatFormatter().setFormats(List.of(
+                new ChatFormatter.Format("staff", "chat.staff", 0, "<red>%player%: %message%")));
+
+        assertNull(formatter.render(player("Steve"), Component.text("hi")));
+        assertNotNull(formatter.render(player("Alex", "chat.staff"), Component.text("hi")));
+    }
+
+    @Test
+    void render_doesNotCacheARenderFinishingAfterTheSenderQuit() {
+        TestScheduler scheduler = new TestScheduler();
+        zAPI.setScheduler(scheduler.scheduler());
+        zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+            @Override
+            public @NotNull String getIdentifier() {
+                return "chat";
+            }
+
+            @Override
+            public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                calls.incrementAndGet();
+                return "VIP";
+            }
+        });
+        ChatFormatter formatter = new ChatFormatter().setFormats(List.of(
+                new ChatFormatter.Format("default", "", 0, "[%chat_rank%] %message%")));
+        Player steve = player("Steve");
+
+        assertNull(formatter.render(steve, Component.text("hi")));
+        formatter.invalidate(steve.getUniqueId());
+        scheduler.runScheduled();
+        assertEquals(1, calls.get());
+
+        assertNull(formatter.render(steve, Component.text("hi")));
+        assertEquals(1, scheduler.pending());
+        scheduler.runScheduled();
+        assertEquals("[VIP] hi", plain(formatter.render(steve, Component.text("hi"))));
+    }
+}
@@ -1,10 +1,19 @@
 package me.yleoft.zAPI.configuration;
 
+import me.yleoft.zAPI.TestPlayers;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.entity.Player;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -118,4 +127,264 @@ class LanguageManagerTest {
         assertEquals("de", manager.getFallbackLanguage());
         assertEquals(2, manager.getLanguages().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getComponent_reusesCachedComponent_forMessagesWithoutPlaceholders() throws Exception {
+        YAMLBuilder en = makeLanguage("en")
+                .addDefault("messages.hello", "<green>Hello")
+                .build()
+                .refresh();
+
+        LanguageManager manager = new LanguageManager(List.of(en), "en");
+
+        Component first = manager.getComponent("messages.hello");
+        assertNotNull(first);
+        assertSame(first, manager.getComponent("messages.hello"));
+        assertTrue(manager.getTemplate("messages.hello").isConstant());
+        assertNull(manager.getComponent("does.not.exist"));
+    }
+
+    @Test
+    void getComponent_substitutesSlots_intoCompiledMessage() throws Exception {
+        YAMLBuilder en = makeLanguage("en")
+                .addDefault("messages.balance", "<green>You have <gold>%amount%</gold> coins, %name%!")
+                .addDefault("messages.click", "<click:run_command:/pay %name%>Pay %name%</click>")
+                .build()
+                .refresh();
+
+        LanguageManager manager = new LanguageManager(List.of(en), "en");
+        Map<String, String> replacements = Map.of("%amount%", "42", "%name%", "Steve");
+
+        Component balance = manager.getComponent(null, "messages.balance", replacements);
+        assertEquals(MiniMessage.miniMessage().deserialize("<green>You have <gold>42</gold> coins, Steve!"), balance.compact());
+        assertEquals(List.of("%amount%", "%name%"), manager.getTemplate("messages.balance").getSlots());
+
+        Component click = manager.getComponent(null, "messages.click", replacements);
+        assertEquals(MiniMessage.miniMessage().deserialize("<click:run_command:/pay Steve>Pay Steve</click>"), click);
+    }
+
+    @Test
+    void getComponent_letsTagsOfAValueStyleTheRestOfTheMessage() throws Exception {
+        YAMLBuilder en = makeLanguage("en")
+                .addDefault("messages.chat", "%prefix_tag%%name%: hi")
+                .build()
+                .refresh();
+
+        LanguageManager manager = new LanguageManager(List.of(en), "en");
+        Map<String, String> replacements = Map.of("%prefix_tag%", "<red>[VIP] ", "%name%", "Steve");
+
+        assertEquals(MiniMessage.miniMessage().deserialize("<red>[VIP] Steve: hi"),
+                manager.getComponent(null, "messages.chat", replacements));
+    }
+
+    private static Player playerWithLocale(Locale locale) {
+        return playerWithLocale(locale, new ArrayList<>());
+    }
+
+    private static Player playerWithLocale(Locale locale, List<Component> received) {
+        return TestPlayers.builder()
+                .locale(locale)
+                .on("sendMessage", args -> args[0] instanceof Component component && received.add(component))
+                .build();
+    }
+
+    @Test
+    void folder_loadsLanguagesOnFirstUse_fromClientLocale() throws Exception {
+        makeLanguage("en_US").addDefault("hello", "Hello").build();
+        makeLanguage("pt").addDefault("hello", "Olá").build();
+        makeLanguage("pt_BR").addDefault("bye", "Tchau").build();
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en_US", null);
+
+        assertTrue(manager.isLoaded("en_US"));
+        assertFalse(manager.isLoaded("pt"));
+        assertFalse(manager.isLoaded("pt_BR"));
+
+        Player brazilian = playerWithLocale(Locale.forLanguageTag("pt-BR"));
+        Player portuguese = playerWithLocale(Locale.forLanguageTag("pt-PT"));
+
+        assertEquals("pt_BR", manager.getLanguage(brazilian));
+        assertEquals("Tchau", manager.getString(brazilian, "bye"));
+        assertEquals("Olá", manager.getString(brazilian, "hello"));
+        assertEquals("Olá", manager.getString(portuguese, "hello"));
+        assertTrue(manager.isLoaded("pt_BR"));
+        assertTrue(manager.isLoaded("pt"));
+        assertEquals("Hello", manager.getString("hello"));
+    }
+
+    @Test
+    void folder_evictsIdleLanguages_onceNoPlayerUsesThem() throws Exception {
+        makeLanguage("en").addDefault("hello", "Hello").build();
+        makeLanguage("de").addDefault("hello", "Hallo").build();
+        makeLanguage("fr").addDefault("hello", "Bonjour").build();
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en", null);
+        manager.setMaxIdleLanguages(1);
+
+        Player german = playerWithLocale(Locale.GERMAN);
+        Player french = playerWithLocale(Locale.FRENCH);
+        assertEquals("Hallo", manager.getString(german, "hello"));
+        assertEquals("Bonjour", manager.getString(french, "hello"));
+
+        LanguageManager.removePlayer(german);
+        assertTrue(manager.isLoaded("de"));
+
+        LanguageManager.removePlayer(french);
+        assertFalse(manager.isLoaded("de"));
+        assertTrue(manager.isLoaded("fr"));
+        assertTrue(manager.isLoaded("en"));
+    }
+
+    @Test
+    void folder_evictsIdleLanguages_whileMergingFallbackChains() throws Exception {
+        String[] bases = {"de", "fr", "es", "it", "se", "nl"};
+        makeLanguage("en").addDefault("hello", "Hello").build();
+        for (String base : bases) {
+            makeLanguage(base).addDefault("hello", "Hello " + base).build();
+            makeLanguage(base + "_XX").addDefault("bye", "Bye " + base).build();
+        }
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en", null);
+        Player german = playerWithLocale(new Locale("de", "XX"));
+        assertEquals("Bye de", manager.getString(german, "bye"));
+        LanguageManager.removePlayer(german);
+
+        for (int i = 1; i < bases.length; i++) {
+            // Once a player leaves, their languages are idle, merging the chain of the next one evicts the eldest
+            Player player = playerWithLocale(new Locale(bases[i], "XX"));
+            assertEquals("Hello " + bases[i], manager.getString(player, "hello"));
+            assertEquals("Bye " + bases[i], manager.getString(player, "bye"));
+            LanguageManager.removePlayer(player);
+        }
+
+        assertFalse(manager.isLoaded("de"));
+        assertFalse(manager.isLoaded("de_XX"));
+        assertFalse(manager.isLoaded("fr"));
+        assertTrue(manager.isLoaded("nl"));
+
+        Files.writeString(tempDir.resolve("de_XX.yml"), "bye: \"Tschüss\"\n", StandardCharsets.UTF_8);
+        Player rejoined = playerWithLocale(new Locale("de", "XX"));
+        assertEquals("Tschüss", manager.getString(rejoined, "bye"));
+        assertEquals("Hello de", manager.getString(rejoined, "hello"));
+    }
+
+    @Test
+    void folder_keepsBaseLanguagesLoaded_whileALanguageFallingBackToThemIsUsed() throws Exception {
+        makeLanguage("en").addDefault("hello", "Hello").build();
+        makeLanguage("pt").addDefault("hello", "Olá").build();
+        makeLanguage("pt_BR").addDefault("bye", "Tchau").build();
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en", null);
+        manager.setMaxIdleLanguages(0);
+        Player brazilian = playerWithLocale(Locale.forLanguageTag("pt-BR"));
+
+        assertEquals("Olá", manager.getString(brazilian, "hello"));
+        assertTrue(manager.isLoaded("pt"));
+
+        Files.writeString(tempDir.resolve("pt.yml"), "hello: \"Oi\"\n", StandardCharsets.UTF_8);
+        manager.reload();
+        assertEquals("Oi", manager.getString(brazilian, "hello"));
+
+        LanguageManager.removePlayer(brazilian);
+        assertFalse(manager.isLoaded("pt"));
+        assertFalse(manager.isLoaded("pt_BR"));
+    }
+
+    @Test
+    void reload_keepsUnchangedFiles_andRereadsEditedOnes() throws Exception {
+        YAMLBuilder en = makeLanguage("en").addDefault("hello", "Hello").build().refresh();
+        YAMLBuilder de = makeLanguage("de").addDefault("hello", "Hallo").build().refresh();
+
+        LanguageManager manager = new LanguageManager(List.of(en, de), "en", "de");
+        MessageTemplate before = manager.getTemplate("hello");
+
+        manager.reload();
+        assertSame(before, manager.getTemplate("hello"));
+
+        Files.writeString(en.getFile().toPath(), "hello: \"Hi there\"\n", StandardCharsets.UTF_8);
+        manager.reload();
+
+        assertEquals("Hi there", manager.getString("hello"));
+    }
+
+    @Test
+    void fallbackChain_isMergedOnce_andRecordsTheSourceLanguage() throws Exception {
+        makeLanguage("en_US").addDefault("a", "A en").addDefault("b", "B en").addDefault("c", "C en").build();
+        makeLanguage("pt").addDefault("b", "B pt").addDefault("c", "C pt").build();
+        makeLanguage("pt_BR").addDefault("c", "C br").build();
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en_US", null);
+        Player brazilian = playerWithLocale(Locale.forLanguageTag("pt-BR"));
+
+        assertEquals(List.of("pt_BR", "pt", "en_US"), manager.getFallbackChain("pt_BR"));
+        assertEquals("A en", manager.getString(brazilian, "a"));
+        assertEquals("B pt", manager.getString(brazilian, "b"));
+        assertEquals("C br", manager.getString(brazilian, "c"));
+        assertEquals("en_US", manager.getSourceLanguage(brazilian, "a"));
+        assertEquals("pt", manager.getSourceLanguage(brazilian, "b"));
+        assertEquals("pt_BR", manager.getSourceLanguage(brazilian, "c"));
+
+        manager.setFallbackChain("pt_BR");
+        assertEquals("B en", manager.getString(brazilian, "b"));
+    }
+
+    enum TestKeys implements MessageKey {
+        HELLO("messages.hello"),
+        BYE("messages.bye"),
+        MISSING("messages.missing");
+
+        private final String path;
+
+        TestKeys(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public String path() {
+            return path;
+        }
+    }
+
+    @Test
+    void bindKeys_looksUpMessagesByKey() throws Exception {
+        YAMLBuilder en = makeLanguage("en")
+                .addDefault("messages.hello", "Hello")
+                .build()
+                .refresh();
+        YAMLBuilder de = makeLanguage("de")
+                .addDefault("messages.hello", "Hallo")
+                .addDefault("messages.bye", "Tschüss")
+                .build()
+                .refresh();
+
+        LanguageManager manager = new LanguageManager(List.of(en, de), "en", "de");
+        manager.bindKeys(TestKeys.class);
+
+        assertEquals("Hello", manager.getString(null, TestKeys.HELLO));
+        assertEquals("Tschüss", manager.getString(null, TestKeys.BYE));
+        assertNull(manager.get(null, TestKeys.MISSING));
+        assertSame(manager.getTemplate("messages.hello"), manager.getTemplate(null, TestKeys.HELLO));
+    }
+
+    @Test
+    void broadcast_rendersOncePerLanguageAndPlaceholderValues() throws Exception {
+        makeLanguage("en").addDefault("greet", "<green>Hello %name%").build();
+        makeLanguage("de").addDefault("greet", "<green>Hallo %name%").build();
+
+        LanguageManager manager = new LanguageManager(tempDir.toFile(), "en", null);
+
+        List<Component> first = new ArrayList<>();
+        List<Component> second = new ArrayList<>();
+        List<Component> german = new ArrayList<>();
+        List<Player> players = List.of(
+                playerWithLocale(Locale.ENGLISH, first),
+                playerWithLocale(Locale.ENGLISH, second),
+                playerWithLocale(Locale.GERMAN, german));
+
+        manager.broadcast(players, "greet", Map.of("%name%", "Steve"));
+
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0));
+        assertEquals(MiniMessage.miniMessage().deserialize("<green>Hallo Steve"), german.get(0).compact());
+    }
+}
@@ -0,0 +1,101 @@
+package me.yleoft.zAPI.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    private YAMLBuilder makeLayer(String name) {
+        return new YAMLBuilder(tempDir.toFile(), name + ".yml");
+    }
+
+    private LayeredConfig makeConfig() {
+        YAMLBuilder global = makeLayer("global")
+                .addDefault("pvp", false)
+                .addDefault("spawn.radius", 10)
+                .addDefault("motd", "Welcome")
+                .build()
+                .refresh();
+        YAMLBuilder nether = makeLayer("nether")
+                .addDefault("pvp", true)
+                .build()
+                .refresh();
+        YAMLBuilder hell = makeLayer("world_hell")
+                .addDefault("spawn.radius", 50)
+                .build()
+                .refresh();
+
+        return new LayeredConfig(global)
+                .group("nether", nether, "world_nether", "world_hell")
+                .world("world_hell", hell)
+                .load();
+    }
+
+    @Test
+    void view_resolvesMostSpecificLayerFirst() {
+        LayeredConfig config = makeConfig();
+
+        assertFalse(config.view("world").getBoolean("pvp"));
+        assertTrue(config.view("world_nether").getBoolean("pvp"));
+        assertTrue(config.view("world_hell").getBoolean("pvp"));
+
+        assertEquals(10, config.view("world_nether").getInt("spawn.radius"));
+        assertEquals(50, config.view("world_hell").getInt("spawn.radius"));
+        assertEquals("Welcome", config.view("world_hell").getString("motd"));
+    }
+
+    @Test
+    void view_ofUnknownWorld_isGlobalView() {
+        LayeredConfig config = makeConfig();
+
+        assertSame(config.globalView(), config.view("unknown"));
+        assertNull(config.get("unknown", "does.not.exist"));
+    }
+
+    @Test
+    void setWorld_rebuildsOnlyThatWorld() {
+        LayeredConfig config = makeConfig();
+        LayeredConfig.View global = config.globalView();
+        LayeredConfig.View nether = config.view("world_nether");
+
+        config.setWorld("world_hell", "motd", "Burn");
+
+        assertEquals("Burn", config.view("world_hell").getString("motd"));
+        assertSame(global, config.globalView());
+        assertSame(nether, config.view("world_nether"));
+    }
+
+    @Test
+    void setGlobal_propagatesToEveryView() {
+        LayeredConfig config = makeConfig();
+
+        config.setGlobal("motd", "Hello");
+
+        assertEquals("Hello", config.view("world").getString("motd"));
+        assertEquals("Hello", config.view("world_nether").getString("motd"));
+        assertEquals("Hello", config.view("world_hell").getString("motd"));
+    }
+
+    @Test
+    void getFlattenedValues_includesFileValuesAndDefaults() {
+        YAMLBuilder b = makeLayer("flat")
+                .addDefault("a.b", "x")
+                .addDefault("list", List.of("1", "2"))
+                .build()
+                .refresh()
+                .addDefault("late", 3);
+
+        assertEquals("x", b.getFlattenedValues().get("a.b"));
+        assertEquals(List.of("1", "2"), b.getFlattenedValues().get("list"));
+        assertEquals(3, b.getFlattenedValues().get("late"));
+        assertFalse(b.getFlattenedValues().containsKey("config-version"));
+    }
+}
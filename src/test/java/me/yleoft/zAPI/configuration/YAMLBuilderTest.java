@@ -286,4 +286,96 @@ class YAMLBuilderTest {
         assertEquals("default", b.getString("new.path"));
         assertEquals("userValue", b.getString("old.path"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void anchorsAndAliases_shareTheSameNode() throws Exception {
+        Path file = tempDir.resolve("config.yml");
+
+        Files.writeString(file, ""
+                + "defaults: &base\n"
+                + "  speed: 5\n"
+                + "  name: \"walker\"\n"
+                + "fast: *base\n"
+                + "label: &lbl \"Hello\"\n"
+                + "copy: *lbl\n"
+                + "config-version: \"1.0.0\"\n", StandardCharsets.UTF_8);
+
+        YAMLBuilder b = new YAMLBuilder(file.toFile()).refresh();
+
+        assertEquals(5, b.getInt("fast.speed"));
+        assertEquals("walker", b.getString("fast.name"));
+        assertSame(b.get("defaults"), b.get("fast"));
+        assertEquals("Hello", b.getString("copy"));
+    }
+
+    @Test
+    void mergeKey_keepsExplicitValuesOverMergedOnes() throws Exception {
+        Path file = tempDir.resolve("config.yml");
+
+        Files.writeString(file, ""
+                + "base: &base\n"
+                + "  speed: 5\n"
+                + "  jump: 2\n"
+                + "runner:\n"
+                + "  <<: *base\n"
+                + "  speed: 10\n"
+                + "config-version: \"1.0.0\"\n", StandardCharsets.UTF_8);
+
+        YAMLBuilder b = new YAMLBuilder(file.toFile()).refresh();
+
+        assertEquals(10, b.getInt("runner.speed"));
+        assertEquals(2, b.getInt("runner.jump"));
+        assertEquals(5, b.getInt("base.speed"));
+    }
+
+    @Test
+    void set_onAliasedPath_copiesInsteadOfChangingTheAnchor() throws Exception {
+        Path file = tempDir.resolve("config.yml");
+
+        Files.writeString(file, ""
+                + "defaults: &base\n"
+                + "  speed: 5\n"
+                + "fast: *base\n"
+                + "config-version: \"1.0.0\"\n", StandardCharsets.UTF_8);
+
+        YAMLBuilder b = new YAMLBuilder(file.toFile()).refresh();
+
+        b.set("fast.speed", 20);
+        b.refresh();
+
+        assertEquals(20, b.getInt("fast.speed"));
+        assertEquals(5, b.getInt("defaults.speed"));
+    }
+
+    @Test
+    void build_preservesAnchorsAliasesAndMergeKeys() throws Exception {
+        Path file = tempDir.resolve("config.yml");
+
+        Files.writeString(file, ""
+                + "base: &base\n"
+                + "  speed: 5\n"
+                + "  jump: 2\n"
+                + "fast: *base\n"
+                + "runner:\n"
+                + "  <<: *base\n"
+                + "  speed: 10\n"
+                + "config-version: \"1.0.0\"\n", StandardCharsets.UTF_8);
+
+        YAMLBuilder b = new YAMLBuilder(file.toFile())
+                .addDefault("other", "x")
+                .updateVersion("1.0.0")
+                .build()
+                .refresh();
+
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        assertTrue(content.contains("base: &base"));
+        assertTrue(content.contains("fast: *base"));
+        assertTrue(content.contains("<<: *base"));
+        assertFalse(content.contains("  jump: 2\n  speed: 10"));
+
+        assertEquals(2, b.getInt("runner.jump"));
+        assertEquals(10, b.getInt("runner.speed"));
+        assertEquals(5, b.getInt("fast.speed"));
+        assertEquals("x", b.getString("other"));
+    }
+}
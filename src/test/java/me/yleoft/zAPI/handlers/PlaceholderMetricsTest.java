@@ -0,0 +1,116 @@
+package me.yleoft.zAPI.handlers;
+
+import me.yleoft.zAPI.utility.TextFormatter;
+import me.yleoft.zAPI.zAPI;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderMetricsTest {
+
+    private final AtomicLong nanos = new AtomicLong(1L);
+    private final List<String> resolved = new ArrayList<>();
+
+    private final PlaceholdersHandler handler = new PlaceholdersHandler() {
+        @Override
+        public @NotNull String getIdentifier() {
+            return "metrics";
+        }
+
+        @Override
+        public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+            resolved.add(params);
+            nanos.addAndGet(params.equals("slow") ? 20_000_000L : 10_000L);
+            return params;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        PlaceholderMetrics.setClock(nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PlaceholderMetrics.setEnabled(false);
+        PlaceholderMetrics.reset();
+        PlaceholderMetrics.setClock(null);
+        zAPI.resetPlaceholdersHandler();
+    }
+
+    @Test
+    void disabled_recordsNothing() {
+        assertEquals(0L, PlaceholderMetrics.start());
+        handler.applyPlaceholders(null, "%metrics_fast%");
+        assertTrue(PlaceholderMetrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void enabled_recordsHandlerPlaceholders_sortedByTotalTime() {
+        PlaceholderMetrics.setEnabled(true);
+        for (int i = 0; i < 3; i++) {
+            handler.applyPlaceholders(null, "%metrics_fast% %metrics_slow%");
+        }
+
+        List<PlaceholderMetrics.Snapshot> snapshots = PlaceholderMetrics.snapshot();
+        assertEquals(2, snapshots.size());
+
+        PlaceholderMetrics.Snapshot slow = snapshots.get(0);
+        assertEquals(PlaceholderMetrics.Source.HANDLER, slow.source());
+        assertEquals("metrics_slow", slow.key());
+        assertEquals(3, slow.calls());
+        assertEquals(60_000_000L, slow.totalNanos());
+        assertEquals(20_000_000L, slow.maxNanos());
+        assertEquals(1L << 15, slow.percentileMicros(0.99D));
+        assertEquals("metrics_fast", snapshots.get(1).key());
+        assertEquals(30_000L, snapshots.get(1).totalNanos());
+
+        List<String> report = PlaceholderMetrics.report(1);
+        assertEquals(2, report.size());
+        assertTrue(report.get(1).contains("metrics_slow"));
+    }
+
+    @Test
+    void enabled_recordsFormatterTimes_byPlaceholdersOfTheText() {
+        zAPI.setPlaceholdersHandler(handler);
+        PlaceholderMetrics.setEnabled(true);
+
+        assertEquals("Lore fast and slow", TextFormatter.applyPlaceholders(null, "Lore %metrics_fast% and %metrics_slow%"));
+        assertEquals("More fast, slow", TextFormatter.applyPlaceholders(null, "More %metrics_fast%, %metrics_slow%"));
+        assertEquals("Less slow", TextFormatter.applyPlaceholders(null, "Less %metrics_slow%"));
+
+        List<PlaceholderMetrics.Snapshot> formatter = PlaceholderMetrics.snapshot().stream()
+                .filter(snapshot -> snapshot.source() == PlaceholderMetrics.Source.FORMATTER)
+                .toList();
+        assertEquals(2, formatter.size());
+        assertEquals("%metrics_fast% %metrics_slow%", formatter.get(0).key());
+        assertEquals(2, formatter.get(0).calls());
+        assertEquals(40_020_000L, formatter.get(0).totalNanos());
+        assertEquals("%metrics_slow%", formatter.get(1).key());
+        assertEquals(1, formatter.get(1).calls());
+    }
+
+    @Test
+    void enabled_resolvesPlaceholdersTheSameWay() {
+        zAPI.setPlaceholdersHandler(handler);
+        String text = "%metrics_fast% %metrics_slow% %metrics_fast%";
+
+        String disabled = TextFormatter.applyPlaceholders(null, text);
+        List<String> disabledCalls = List.copyOf(resolved);
+        resolved.clear();
+        PlaceholderMetrics.setEnabled(true);
+        String enabled = TextFormatter.applyPlaceholders(null, text);
+
+        assertEquals(disabled, enabled);
+        assertEquals(disabledCalls, resolved);
+    }
+}
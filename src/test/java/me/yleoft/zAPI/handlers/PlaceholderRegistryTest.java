@@ -0,0 +1,47 @@
+package me.yleoft.zAPI.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderRegistryTest {
+
+    private final PlaceholderRegistry registry = new PlaceholderRegistry("test")
+            .register("balance", player -> 100)
+            .register("top_<n:int>_name", (player, args) -> "name#" + args.getInt("n"))
+            .register("top_<n:int>_value", (player, args) -> "value#" + args.getInt("n"))
+            .register("top_count", player -> "10")
+            .register("stats_<player>_kills", (player, args) -> args.getString("player") + " kills")
+            .register("stats_<player>", (player, args) -> args.getString("player"))
+            .register("ratio_<x:double>", (player, args) -> String.valueOf(args.getDouble("x") * 2));
+
+    @Test
+    void dispatchesExactKeys() {
+        assertEquals("100", registry.applyHookPlaceholders(null, "balance"));
+        assertEquals("10", registry.applyHookPlaceholders(null, "top_count"));
+        assertNull(registry.applyHookPlaceholders(null, "unknown"));
+    }
+
+    @Test
+    void parsesTypedArguments() {
+        assertEquals("name#3", registry.applyHookPlaceholders(null, "top_3_name"));
+        assertEquals("value#12", registry.applyHookPlaceholders(null, "top_12_value"));
+        assertEquals("3.0", registry.applyHookPlaceholders(null, "ratio_1.5"));
+        assertNull(registry.applyHookPlaceholders(null, "top_abc_name"));
+        assertNull(registry.applyHookPlaceholders(null, "top_3_other"));
+    }
+
+    @Test
+    void trailingStringArgument_takesTheRest() {
+        assertEquals("Steve", registry.applyHookPlaceholders(null, "stats_Steve"));
+        assertEquals("Steve kills", registry.applyHookPlaceholders(null, "stats_Steve_kills"));
+        assertEquals("not_a_name", registry.applyHookPlaceholders(null, "stats_not_a_name"));
+    }
+
+    @Test
+    void rejectsMalformedKeys() {
+        assertThrows(IllegalArgumentException.class, () -> registry.register("top_<n:text>", (player, args) -> ""));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("top_<n:string>_x", (player, args) -> ""));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("bad_<n", (player, args) -> ""));
+    }
+}
@@ -0,0 +1,140 @@
+package me.yleoft.zAPI.handlers;
+
+import me.yleoft.zAPI.TestPlayers;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholdersHandlerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private PlaceholderCache cache;
+
+    private final PlaceholdersHandler handler = new PlaceholdersHandler() {
+        @Override
+        public @NotNull String getIdentifier() {
+            return "test";
+        }
+
+        @Override
+        public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+            calls.incrementAndGet();
+            return switch (params) {
+                case "name" -> "Steve";
+                case "balance" -> "100";
+                default -> null;
+            };
+        }
+
+        @Override
+        public @Nullable PlaceholderCache getCache() {
+            return cache;
+        }
+    };
+
+    private static OfflinePlayer player() {
+        return TestPlayers.builder().buildOffline();
+    }
+
+    @Test
+    void applyPlaceholders_replacesEveryPlaceholder() {
+        assertEquals("Steve has 100 coins", handler.applyPlaceholders(null, "%test_name% has %test_balance% coins"));
+        assertEquals("[] 50% off", handler.applyPlaceholders(null, "[%test_unknown%] 50% off"));
+    }
+
+    @Test
+    void applyPlaceholders_leavesOtherTextUntouched() {
+        String text = "50% off, %other_name% and %test_%";
+        assertSame(text, handler.applyPlaceholders(null, text));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void applyPlaceholders_matchesLikeTheOldPattern() {
+        assertEquals("%test_Steve", handler.applyPlaceholders(null, "%test_%test_name%"));
+        assertEquals("%test_name", handler.applyPlaceholders(null, "%test_name"));
+    }
+
+    @Test
+    void template_isCompiledOnce() {
+        String text = "Hi %test_name%, %test_balance%";
+        PlaceholderTemplate template = PlaceholderTemplate.of("test", text);
+
+        assertSame(template, PlaceholderTemplate.of("test", text));
+        assertEquals(List.of("name", "balance"), template.getParams());
+    }
+
+    @Test
+    void cache_keepsResultsPerPlayerUntilInvalidated() {
+        cache = new PlaceholderCache()
+                .cache("balance", Duration.ofMinutes(1), PlaceholderCache.Scope.PLAYER)
+                .cache("na*", Duration.ofMinutes(1), PlaceholderCache.Scope.GLOBAL);
+        OfflinePlayer steve = player();
+        OfflinePlayer alex = player();
+
+        handler.applyPlaceholders(steve, "%test_balance% %test_name%");
+        handler.applyPlaceholders(steve, "%test_balance% %test_name%");
+        assertEquals(2, calls.get());
+
+        handler.applyPlaceholders(alex, "%test_balance% %test_name%");
+        assertEquals(3, calls.get());
+
+        PlaceholderCache.invalidatePlayer(steve.getUniqueId());
+        handler.applyPlaceholders(steve, "%test_balance%");
+        handler.applyPlaceholders(alex, "%test_balance%");
+        assertEquals(4, calls.get());
+
+        cache.invalidate("name");
+        assertEquals("Steve", handler.applyPlaceholders(alex, "%test_name%"));
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void cache_expiresAfterTtl() {
+        cache = new PlaceholderCache().cache("balance", Duration.ZERO, PlaceholderCache.Scope.GLOBAL);
+
+        handler.applyPlaceholders(null, "%test_balance%");
+        handler.applyPlaceholders(null, "%test_balance%");
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cache_dropsTheResultsClosestToExpiring_whenFull() {
+        cache = new PlaceholderCache().maxSize(8)
+                .cache("balance", Duration.ofMinutes(1), PlaceholderCache.Scope.PLAYER)
+                .cache("name", Duration.ofMinutes(2), PlaceholderCache.Scope.GLOBAL);
+        handler.applyPlaceholders(null, "%test_name%");
+
+        for (int i = 0; i < 100; i++) {
+            handler.applyPlaceholders(player(), "%test_balance%");
+            assertTrue(cache.size() <= 8, "size " + cache.size());
+        }
+
+        int before = calls.get();
+        handler.applyPlaceholders(null, "%test_name%");
+        assertEquals(before, calls.get());
+    }
+
+    @Test
+    void renderPass_resolvesEachPlaceholderOnce() {
+        OfflinePlayer steve = player();
+        try (PlaceholderCache.RenderPass ignored = PlaceholderCache.beginRenderPass()) {
+            try (PlaceholderCache.RenderPass nested = PlaceholderCache.beginRenderPass()) {
+                assertEquals("Steve 100", handler.applyPlaceholders(steve, "%test_name% %test_balance%"));
+            }
+            assertEquals("Steve, Steve []", handler.applyPlaceholders(steve, "%test_name%, %test_name% [%test_unknown%]"));
+            handler.applyPlaceholders(steve, "%test_unknown%");
+        }
+        assertEquals(3, calls.get());
+
+        handler.applyPlaceholders(steve, "%test_name%");
+        assertEquals(4, calls.get());
+    }
+}
@@ -0,0 +1,81 @@
+package me.yleoft.zAPI.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadPlaceholdersTest {
+
+    @Test
+    void get_returnsLastComputedValue() {
+        AtomicInteger total = new AtomicInteger(100);
+        RefreshAheadPlaceholders refreshing = new RefreshAheadPlaceholders()
+                .register("total", Duration.ofSeconds(30), total::get);
+
+        assertNull(refreshing.get("total"));
+        assertTrue(refreshing.refresh("total"));
+        assertEquals("100", refreshing.get("total"));
+
+        total.set(200);
+        assertEquals("100", refreshing.get("total"));
+        refreshing.refresh("total");
+        assertEquals("200", refreshing.get("total"));
+    }
+
+    @Test
+    void groups_arePublishedTogether() {
+        AtomicInteger runs = new AtomicInteger();
+        RefreshAheadPlaceholders refreshing = new RefreshAheadPlaceholders()
+                .registerAll("top", Duration.ofMinutes(1), () -> runs.incrementAndGet() == 1
+                        ? Map.of("top_1_name", "Steve", "top_1_value", 50)
+                        : Map.of("top_1_name", "Alex"));
+
+        refreshing.refresh("top");
+        assertEquals("Steve", refreshing.get("top_1_name"));
+        assertEquals("50", refreshing.get("top_1_value"));
+
+        refreshing.refresh("top");
+        assertEquals("Alex", refreshing.get("top_1_name"));
+        assertNull(refreshing.get("top_1_value"));
+        assertFalse(refreshing.refresh("unknown"));
+    }
+
+    @Test
+    void get_readsEveryGroupFromOneMap_singlePlaceholdersWinning() {
+        RefreshAheadPlaceholders refreshing = new RefreshAheadPlaceholders()
+                .registerAll("kills", Duration.ofMinutes(1), () -> Map.of("top_kills_1", "Steve", "total", "group"))
+                .registerAll("deaths", Duration.ofMinutes(1), () -> Map.of("top_deaths_1", "Alex"))
+                .register("total", Duration.ofSeconds(30), () -> 42);
+
+        refreshing.refresh("kills");
+        refreshing.refresh("deaths");
+        assertEquals("Steve", refreshing.get("top_kills_1"));
+        assertEquals("Alex", refreshing.get("top_deaths_1"));
+        assertEquals("group", refreshing.get("total"));
+
+        refreshing.refresh("total");
+        assertEquals("42", refreshing.get("total"));
+
+        refreshing.registerAll("kills", Duration.ofMinutes(1), Map::of);
+        assertNull(refreshing.get("top_kills_1"));
+        assertEquals("Alex", refreshing.get("top_deaths_1"));
+    }
+
+    @Test
+    void failedRefresh_keepsLastValue() {
+        AtomicInteger runs = new AtomicInteger();
+        RefreshAheadPlaceholders refreshing = new RefreshAheadPlaceholders()
+                .register("flaky", Duration.ofSeconds(1), () -> {
+                    if (runs.incrementAndGet() > 1) throw new IllegalStateException("database down");
+                    return "ok";
+                });
+
+        refreshing.refresh("flaky");
+        refreshing.refresh("flaky");
+        assertEquals("ok", refreshing.get("flaky"));
+    }
+}
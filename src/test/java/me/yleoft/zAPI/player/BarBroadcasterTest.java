@@ -0,0 +1,77 @@
+package me.yleoft.zAPI.player;
+
+import me.yleoft.zAPI.TestPlayers;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarBroadcasterTest {
+
+    private final List<String> actionBars = new ArrayList<>();
+    private final List<BossBar> shown = new ArrayList<>();
+    private final List<BossBar> hidden = new ArrayList<>();
+
+    private Player player() {
+        return TestPlayers.builder()
+                .on("sendActionBar", args -> actionBars.add(PlainTextComponentSerializer.plainText().serialize((Component) args[0])))
+                .on("showBossBar", args -> shown.add((BossBar) args[0]))
+                .on("hideBossBar", args -> hidden.add((BossBar) args[0]))
+                .build();
+    }
+
+    @Test
+    void actionBar_sendsOnlyTheLatestChange() {
+        BarBroadcaster bars = new BarBroadcaster();
+        Player player = player();
+
+        bars.actionBar(player, "<yellow>3s");
+        bars.actionBar(player, "<yellow>2s");
+        bars.flush();
+        bars.actionBar(player, "<yellow>2s");
+        bars.flush();
+        bars.flush();
+
+        assertEquals(List.of("2s"), actionBars);
+    }
+
+    @Test
+    void actionBar_isResentToStayVisibleUntilItExpires() {
+        BarBroadcaster bars = new BarBroadcaster();
+        Player player = player();
+
+        bars.actionBar(player, "Mining", 50);
+        for (int i = 0; i < 100; i++) {
+            bars.flush();
+        }
+
+        assertEquals(List.of("Mining", "Mining"), actionBars);
+    }
+
+    @Test
+    void bossBar_isShownOnceAndUpdatedInPlace() {
+        BarBroadcaster bars = new BarBroadcaster();
+        Player player = player();
+
+        bars.bossBar(player, "progress", "Mining", 0.25F);
+        bars.flush();
+        bars.bossBar(player, "progress", "Mining", 0.5F);
+        bars.bossBar(player, "progress", "Mining", 2F);
+        bars.flush();
+
+        assertEquals(1, shown.size());
+        BossBar bar = shown.get(0);
+        assertEquals(1F, bar.progress());
+        assertEquals("Mining", PlainTextComponentSerializer.plainText().serialize(bar.name()));
+
+        bars.hideBossBar(player, "progress");
+        bars.flush();
+        assertEquals(List.of(bar), hidden);
+    }
+}
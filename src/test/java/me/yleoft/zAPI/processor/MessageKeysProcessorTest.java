@@ -0,0 +1,73 @@
+package me.yleoft.zAPI.processor;
+
+import me.yleoft.zAPI.configuration.MessageKeys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageKeysProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String classpath() throws Exception {
+        // The annotation, wherever the test runner loaded it from
+        Path main = Path.of(MessageKeys.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return main + File.pathSeparator + System.getProperty("java.class.path");
+    }
+
+    @Test
+    void toConstant_makesValidIdentifiers() {
+        assertEquals("MESSAGES_NO_PERMISSION", MessageKeysProcessor.toConstant("messages.no-permission"));
+        assertEquals("_1ST_PLACE", MessageKeysProcessor.toConstant("1st.place"));
+    }
+
+    @Test
+    void process_generatesEnumFromLanguageFile() throws Exception {
+        Path resources = Files.createDirectories(tempDir.resolve("resources/lang"));
+        Files.writeString(resources.resolve("en_US.yml"), ""
+                + "prefix: \"[Test]\"\n"
+                + "messages:\n"
+                + "  no-permission: \"<red>No permission\"\n"
+                + "  hello: \"Hello %player%\"\n", StandardCharsets.UTF_8);
+
+        Path source = Files.createDirectories(tempDir.resolve("src/test/plugin")).resolve("Plugin.java");
+        Files.writeString(source, ""
+                + "package test.plugin;\n"
+                + "@me.yleoft.zAPI.configuration.MessageKeys(value = \"lang/en_US.yml\", name = \"Lang\")\n"
+                + "public class Plugin {\n"
+                + "    me.yleoft.zAPI.configuration.MessageKey key = Lang.MESSAGES_NO_PERMISSION;\n"
+                + "}\n", StandardCharsets.UTF_8);
+
+        Path generated = Files.createDirectories(tempDir.resolve("generated"));
+        Path classes = Files.createDirectories(tempDir.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-classpath", classpath(),
+                            "-d", classes.toString(),
+                            "-s", generated.toString(),
+                            "-Azapi.resources=" + tempDir.resolve("resources")),
+                    null, fileManager.getJavaFileObjects(source.toFile()));
+            task.setProcessors(List.of(new MessageKeysProcessor()));
+            assertTrue(task.call());
+        }
+
+        String lang = Files.readString(generated.resolve("test/plugin/Lang.java"), StandardCharsets.UTF_8);
+        assertTrue(lang.contains("PREFIX(\"prefix\")"));
+        assertTrue(lang.contains("MESSAGES_NO_PERMISSION(\"messages.no-permission\")"));
+        assertTrue(lang.contains("MESSAGES_HELLO(\"messages.hello\")"));
+        assertTrue(Files.exists(classes.resolve("test/plugin/Lang.class")));
+    }
+}
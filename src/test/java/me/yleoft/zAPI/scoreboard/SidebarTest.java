@@ -0,0 +1,128 @@
+package me.yleoft.zAPI.scoreboard;
+
+import me.yleoft.zAPI.TestPlayers;
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SidebarTest {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, String> shown = new LinkedHashMap<>();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        values.put("kills", "0");
+        values.put("online", "1");
+        zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+            @Override
+            public @NotNull String getIdentifier() {
+                return "board";
+            }
+
+            @Override
+            public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                return values.get(params);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        zAPI.resetPlaceholdersHandler();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.util.function.BiFunction<String, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> handler.apply(method.getName(), args);
+        });
+    }
+
+    private Scoreboard scoreboard() {
+        Objective objective = proxy(Objective.class, (name, args) -> {
+            switch (name) {
+                case "displayName" -> record("title", (Component) args[0]);
+                case "getScore" -> {
+                    String entry = (String) args[0];
+                    return proxy(Score.class, (scoreName, scoreArgs) -> {
+                        if (scoreName.equals("customName")) record(entry, (Component) scoreArgs[0]);
+                        return null;
+                    });
+                }
+            }
+            return null;
+        });
+        return proxy(Scoreboard.class, (name, args) -> name.equals("registerNewObjective") ? objective : null);
+    }
+
+    private void record(String key, Component component) {
+        sent.incrementAndGet();
+        shown.put(key, PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Test
+    void show_sendsEveryLine() {
+        Sidebar sidebar = new Sidebar("<gold>Server", List.of("Kills: %board_kills%", "", "Online: %board_online%"));
+        Player player = TestPlayers.player();
+
+        sidebar.show(player, scoreboard());
+
+        assertTrue(sidebar.isShown(player));
+        assertEquals(4, sent.get());
+        assertEquals("Server", shown.get("title"));
+        assertEquals("Kills: 0", shown.get("§1"));
+        assertEquals("", shown.get("§2"));
+        assertEquals("Online: 1", shown.get("§3"));
+    }
+
+    @Test
+    void refresh_onlySendsChangedLines() {
+        Sidebar sidebar = new Sidebar("Server", List.of("Kills: %board_kills%", "Static", "Online: %board_online%"));
+        Player player = TestPlayers.player();
+        sidebar.show(player, scoreboard());
+        sent.set(0);
+
+        assertEquals(0, sidebar.refresh(player));
+        assertEquals(0, sent.get());
+
+        values.put("kills", "5");
+        assertEquals(1, sidebar.refresh(player));
+        assertEquals(1, sent.get());
+        assertEquals("Kills: 5", shown.get("§1"));
+        assertEquals("Online: 1", shown.get("§3"));
+    }
+
+    @Test
+    void refresh_ignoresPlayersWithoutTheSidebar() {
+        Sidebar sidebar = new Sidebar("Server", List.of("Kills: %board_kills%"));
+        Player player = TestPlayers.player();
+        sidebar.show(player, scoreboard());
+
+        sidebar.hide(player);
+
+        assertFalse(sidebar.isShown(player));
+        values.put("kills", "5");
+        assertEquals(0, sidebar.refresh(player));
+    }
+}
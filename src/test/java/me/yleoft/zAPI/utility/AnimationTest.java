@@ -0,0 +1,52 @@
+package me.yleoft.zAPI.utility;
+
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimationTest {
+
+    @Test
+    void phased_setsThePhaseOfTagsWithoutOne() {
+        assertEquals("<gradient:red:blue:-1.0000>Hi</gradient>", Animation.phased("<gradient:red:blue>Hi</gradient>", 0, 4));
+        assertEquals("<gradient:red:blue:0.0000>Hi", Animation.phased("<gradient:red:blue>Hi", 2, 4));
+        assertEquals("<rainbow:5>Hi <rainbow:!5>", Animation.phased("<rainbow>Hi <rainbow:!>", 1, 2));
+        assertEquals("<gradient:red:blue:0.5><rainbow:3>", Animation.phased("<gradient:red:blue:0.5><rainbow:3>", 1, 2));
+        assertEquals("<red>Static", Animation.phased("<red>Static", 1, 2));
+    }
+
+    @Test
+    void compile_rendersEveryFrameOnce() {
+        Animation animation = Animation.compile("<gradient:red:blue>Animated</gradient>", 4);
+
+        assertEquals(4, animation.size());
+        for (int i = 0; i < 4; i++) {
+            String phased = Animation.phased("<gradient:red:blue>Animated</gradient>", i, 4);
+            // Newer MiniMessage wraps gradients in virtual components that only equal themselves, compare their output
+            assertEquals(zAPI.getMiniMessage().deserialize(phased).children(), animation.get(i).children());
+        }
+        assertNotEquals(animation.get(0), animation.get(1));
+        assertSame(animation.get(1), animation.frame(5));
+        assertSame(animation.get(3), animation.frame(-1));
+    }
+
+    @Test
+    void compile_keepsASingleFrameWithoutAnythingToAnimate() {
+        Animation animation = Animation.compile("<red>Static", 20);
+
+        assertEquals(1, animation.size());
+        assertEquals(zAPI.getMiniMessage().deserialize("<red>Static"), animation.frame(7));
+    }
+
+    @Test
+    void of_reusesCompiledAnimations() {
+        Animation animation = Animation.of("<rainbow>Cached", 10);
+
+        assertSame(animation, Animation.of("<rainbow>Cached", 10));
+        assertNotSame(animation, Animation.of("<rainbow>Cached", 5));
+        assertThrows(IllegalArgumentException.class, () -> Animation.compile("<rainbow>Cached", 0));
+        assertInstanceOf(Component.class, animation.frame(3));
+    }
+}
@@ -0,0 +1,69 @@
+package me.yleoft.zAPI.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void evictsByWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, (key, value) -> value.length());
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        assertEquals(9, cache.getWeight());
+
+        cache.put("c", "12");
+        assertNull(cache.get("a"));
+        assertEquals(6, cache.getWeight());
+
+        cache.put("b", "1");
+        assertEquals(3, cache.getWeight());
+
+        cache.put("huge", "12345678901");
+        assertNull(cache.get("huge"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void setMaxSize_evictsImmediately() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(4);
+        for (int i = 0; i < 4; i++) cache.put(i, i);
+
+        cache.setMaxSize(1);
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.get(3));
+    }
+
+    @Test
+    void tracksHitRatio() {
+        BoundedCache<String, String> cache = new BoundedCache<>(8);
+        assertEquals(0D, cache.getHitRatio());
+
+        cache.get("a", key -> "A");
+        cache.get("a", key -> "A");
+        cache.get("a", key -> "A");
+        cache.get("b");
+
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0.5D, cache.getHitRatio());
+
+        cache.resetStats();
+        assertEquals(0, cache.getHits());
+    }
+}
@@ -0,0 +1,93 @@
+package me.yleoft.zAPI.utility;
+
+import me.yleoft.zAPI.handlers.PlaceholderRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void ranksByScore_highestFirst() {
+        Leaderboard leaderboard = new Leaderboard();
+        UUID steve = UUID.randomUUID();
+        UUID alex = UUID.randomUUID();
+        UUID herobrine = UUID.randomUUID();
+
+        leaderboard.update(steve, "Steve", 10);
+        leaderboard.update(alex, "Alex", 30);
+        leaderboard.update(herobrine, "Herobrine", 20);
+
+        assertEquals(List.of("Alex", "Herobrine", "Steve"), leaderboard.top(5).stream().map(Leaderboard.Entry::name).toList());
+        assertEquals(3, leaderboard.getRank(steve));
+
+        leaderboard.add(steve, "Steve", 25);
+        assertEquals(1, leaderboard.getRank(steve));
+        assertEquals(35D, leaderboard.getScore(steve).orElseThrow());
+        assertEquals("Alex", Objects.requireNonNull(leaderboard.get(2)).name());
+
+        assertTrue(leaderboard.remove(alex));
+        assertEquals(2, leaderboard.size());
+        assertEquals(2, leaderboard.getRank(herobrine));
+        assertNull(leaderboard.get(3));
+        assertEquals(0, leaderboard.getRank(alex));
+    }
+
+    @Test
+    void lowestFirst() {
+        Leaderboard leaderboard = new Leaderboard(false);
+        leaderboard.update(UUID.randomUUID(), "Slow", 90.5);
+        leaderboard.update(UUID.randomUUID(), "Fast", 12.25);
+
+        assertEquals("Fast", Objects.requireNonNull(leaderboard.get(1)).name());
+    }
+
+    @Test
+    void matchesSortedList_underRandomUpdates() {
+        Leaderboard leaderboard = new Leaderboard();
+        Map<UUID, Double> scores = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) ids.add(UUID.randomUUID());
+
+        Random random = new Random(42);
+        for (int step = 0; step < 5000; step++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(id);
+                scores.remove(id);
+            } else {
+                double score = random.nextInt(50);
+                leaderboard.update(id, id.toString(), score);
+                scores.put(id, score);
+            }
+        }
+
+        List<UUID> expected = new ArrayList<>(scores.keySet());
+        expected.sort(Comparator.comparingDouble((UUID id) -> -scores.get(id)).thenComparing(Comparator.naturalOrder()));
+
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            UUID id = expected.get(i);
+            assertEquals(i + 1, leaderboard.getRank(id));
+            assertEquals(id, Objects.requireNonNull(leaderboard.get(i + 1)).id());
+        }
+    }
+
+    @Test
+    void placeholders() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(UUID.randomUUID(), "Steve", 12);
+        leaderboard.update(UUID.randomUUID(), "Alex", 7.5);
+
+        PlaceholderRegistry registry = new PlaceholderRegistry("test");
+        leaderboard.registerPlaceholders(registry, "kills");
+
+        assertEquals("Steve", registry.applyHookPlaceholders(null, "kills_top_1_name"));
+        assertEquals("12", registry.applyHookPlaceholders(null, "kills_top_1_value"));
+        assertEquals("7.50", registry.applyHookPlaceholders(null, "kills_top_2_value"));
+        assertEquals("", registry.applyHookPlaceholders(null, "kills_top_3_name"));
+        assertEquals("", registry.applyHookPlaceholders(null, "kills_rank"));
+    }
+}
@@ -0,0 +1,57 @@
+package me.yleoft.zAPI.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MathExpressionEvaluatorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "1 + 2 * 3, 7",
+            "(1 + 2) * 3, 9",
+            "10 - 4 - 3, 3",
+            "8 / 4 / 2, 1",
+            "-3 + 5, 2",
+            "2 * -3, -6",
+            "-(2 + 3), -5",
+            "sqrt(16) + round(2.5), 7",
+            "roundDown(7 / 2), 3",
+            "round(sqrt(2) * 10) / 10, 1.4",
+            "'', 0"
+    })
+    void evaluate_followsPrecedence(String expression, double expected) {
+        assertEquals(expected, MathExpressionEvaluator.evaluate(expression), 1e-9);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1 +", "(1 + 2", "1 / 0", "2 $ 3", "%x% * 2"})
+    void evaluate_rejectsInvalidExpressions(String expression) {
+        assertThrows(IllegalArgumentException.class, () -> MathExpressionEvaluator.evaluate(expression));
+    }
+
+    @Test
+    void compile_cachesBySource() {
+        MathExpressionEvaluator.Expression expression = MathExpressionEvaluator.compile("%x% * 2 + y");
+
+        assertSame(expression, MathExpressionEvaluator.compile("%x% * 2 + y"));
+        assertEquals(List.of("x", "y"), expression.getVariables());
+    }
+
+    @Test
+    void evaluate_bindsVariables() {
+        MathExpressionEvaluator.Expression expression = MathExpressionEvaluator.compile("%x% * 2 + %x% / y");
+
+        assertEquals(25, expression.evaluate(Map.of("x", 10, "y", 2)), 1e-9);
+        assertEquals(7, expression.evaluate(Map.of("x", "3", "y", "3")), 1e-9);
+        assertEquals(15, expression.evaluate(Map.of("x", "2 + 3", "y", 1)), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(Map.of("x", 1)));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(Map.of("x", "abc", "y", 1)));
+    }
+}
@@ -0,0 +1,85 @@
+package me.yleoft.zAPI.utility;
+
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rough benchmark of {@link TextFormatter#transform(String)} on chat and lore workloads,
+ * against the previous path (placeholders then an uncached MiniMessage parse).
+ * Not a test, run its main method by hand.
+ */
+public final class TextFormatterBenchmark {
+
+    private static final List<String> CHAT = List.of(
+            "hey, anyone up for the nether?",
+            "lol",
+            "selling diamonds 50% off at spawn",
+            "gg",
+            "<green>Welcome back!",
+            "Tom & Jerry > everyone else",
+            "brb",
+            "where is the shop?");
+
+    private static final List<String> LORE = List.of(
+            "<gray>A sturdy blade forged",
+            "<gray>in the fires of the nether.",
+            "",
+            "Damage: %bench_damage%",
+            "Owner: %bench_owner%",
+            "Right click to use",
+            "Sell price: 120 coins",
+            "<yellow>Legendary");
+
+    private TextFormatterBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+            @Override
+            public @NotNull String getIdentifier() {
+                return "bench";
+            }
+
+            @Override
+            public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                return params.equals("damage") ? "12" : "Steve";
+            }
+        });
+
+        Function<String, Component> previous = string -> zAPI.getMiniMessage().deserialize(
+                zAPI.getPlaceholdersHandler().applyPlaceholders(null, string.replace("%prefix%", "")));
+        Function<String, Component> current = TextFormatter::transform;
+
+        for (int round = 0; round < 3; round++) {
+            System.out.println("round " + (round + 1));
+            run("chat / previous", CHAT, previous);
+            run("chat / current", CHAT, current);
+            run("lore / previous", LORE, previous);
+            run("lore / current", LORE, current);
+
+            // The fast path alone, without the component cache
+            TextFormatter.setComponentCacheLimit(0);
+            run("chat / no cache", CHAT, current);
+            run("lore / no cache", LORE, current);
+            TextFormatter.setComponentCacheLimit(TextFormatter.DEFAULT_COMPONENT_CACHE_LIMIT);
+        }
+    }
+
+    private static void run(String name, List<String> lines, Function<String, Component> transform) {
+        int iterations = 200_000;
+        Object sink = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = transform.apply(lines.get(i % lines.size()));
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("  %-16s %8.1f ns/op%s%n", name, (double) nanos / iterations, sink == null ? " (no result)" : "");
+    }
+}
@@ -1,5 +1,20 @@
 package me.yleoft.zAPI.utility;
 
+import me.yleoft.zAPI.TestPlayers;
+import me.yleoft.zAPI.TestScheduler;
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
+import me.yleoft.zAPI.zAPI;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -7,6 +22,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TextFormatterTest {
@@ -235,4 +256,318 @@ class TextFormatterTest {
             assertEquals(ms, result);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("deserialize")
+    class DeserializeTests {
+
+        @Test
+        void shouldReuseCachedComponents() {
+            String message = "<red>Cached <bold>title</bold>";
+            assertSame(TextFormatter.deserialize(message), TextFormatter.deserialize(message));
+            assertTrue(TextFormatter.getComponentCache().getHits() > 0);
+        }
+
+        @Test
+        void shouldSkipTheParserForPlainText() {
+            assertEquals(Component.text("Tom & Jerry > 50 coins"), TextFormatter.deserialize("Tom & Jerry > 50 coins"));
+            assertEquals(Component.text("Plain title"), TextFormatter.transform("Plain title"));
+            assertEquals(zAPI.getMiniMessage().deserialize("a \\<b> c"), TextFormatter.deserialize("a \\<b> c"));
+        }
+
+        @Test
+        void shouldParseAgainWhenDisabled() {
+            String message = "<green>Uncached";
+            try {
+                TextFormatter.setComponentCacheLimit(0);
+                assertNotSame(TextFormatter.deserialize(message), TextFormatter.deserialize(message));
+                assertEquals(TextFormatter.deserialize(message), TextFormatter.deserialize(message));
+            } finally {
+                TextFormatter.setComponentCacheLimit(TextFormatter.DEFAULT_COMPONENT_CACHE_LIMIT);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("transformAll")
+    class TransformAllTests {
+
+        @Test
+        void shouldResolveEachPlaceholderOnce() {
+            List<String> resolved = new ArrayList<>();
+            zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+                @Override
+                public @NotNull String getIdentifier() {
+                    return "lore";
+                }
+
+                @Override
+                public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                    resolved.add(params);
+                    return switch (params) {
+                        case "kills" -> "12";
+                        case "top kills 1" -> "Steve";
+                        default -> null;
+                    };
+                }
+            });
+            try {
+                List<String> lines = TextFormatter.transformStringAll(null, List.of(
+                        "<gray>Kills: %lore_kills%",
+                        "%lore_kills% kills, 50% off",
+                        "%lore_unknown%lore_kills%",
+                        "Top: %lore_top kills 1%",
+                        "No placeholders"));
+
+                assertEquals(List.of("<gray>Kills: 12", "12 kills, 50% off", "lore_kills%", "Top: Steve", "No placeholders"), lines);
+                assertEquals(List.of("kills", "unknown", "top kills 1"), resolved);
+                assertEquals(5, TextFormatter.transformAll(null, lines).size());
+            } finally {
+                zAPI.resetPlaceholdersHandler();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("transformStringAsync")
+    class TransformStringAsyncTests {
+
+        private final TestScheduler scheduler = new TestScheduler();
+        private final List<Boolean> resolvedOnOwner = new ArrayList<>();
+
+        private PlaceholdersHandler handler(boolean threadSafe) {
+            return new PlaceholdersHandler() {
+                @Override
+                public @NotNull String getIdentifier() {
+                    return "async";
+                }
+
+                @Override
+                public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                    resolvedOnOwner.add(scheduler.isOwner());
+                    return params.toUpperCase();
+                }
+
+                @Override
+                public boolean isThreadSafe() {
+                    return threadSafe;
+                }
+            };
+        }
+
+        @AfterEach
+        void tearDown() {
+            zAPI.resetPlaceholdersHandler();
+            zAPI.setScheduler(null);
+        }
+
+        @Test
+        void withoutPlaceholders_completesRightAway() {
+            zAPI.setPlaceholdersHandler(handler(false));
+
+            CompletableFuture<String> future = TextFormatter.transformStringAsync(TestPlayers.player(), "<red>Hello");
+
+            assertEquals("<red>Hello", future.getNow(null));
+            assertTrue(resolvedOnOwner.isEmpty());
+        }
+
+        @Test
+        void threadSafeHandler_resolvesOnTheCallingThread() {
+            zAPI.setPlaceholdersHandler(handler(true));
+
+            CompletableFuture<String> future = TextFormatter.transformStringAsync(TestPlayers.player(), "Hi %async_name%");
+
+            assertEquals("Hi NAME", future.getNow(null));
+            assertEquals(List.of(false), resolvedOnOwner);
+        }
+
+        @Test
+        void unsafeHandler_resolvesOnThePlayersScheduler() {
+            zAPI.setPlaceholdersHandler(handler(false));
+            zAPI.setScheduler(scheduler.scheduler());
+
+            CompletableFuture<String> future = TextFormatter.transformStringAsync(TestPlayers.player(), "Hi %async_name%");
+
+            assertFalse(future.isDone());
+            assertEquals(1, scheduler.pending());
+            scheduler.runScheduled();
+            assertEquals("Hi NAME", future.getNow(null));
+            assertEquals(List.of(true), resolvedOnOwner);
+        }
+
+        @Test
+        void unsafeHandler_resolvesOnTheGlobalScheduler_withoutAPlayer() {
+            zAPI.setPlaceholdersHandler(handler(false));
+            zAPI.setScheduler(scheduler.scheduler());
+
+            CompletableFuture<String> future = TextFormatter.transformStringAsync(null, "Hi %async_name%");
+
+            assertFalse(future.isDone());
+            scheduler.runScheduled();
+            assertEquals("Hi NAME", future.getNow(null));
+            assertEquals(List.of(true), resolvedOnOwner);
+        }
+
+        @Test
+        void unsafeHandler_completesRightAway_whenTheCallerOwnsThePlayer() {
+            zAPI.setPlaceholdersHandler(handler(false));
+            zAPI.setScheduler(scheduler.scheduler());
+            scheduler.setOwner(true);
+
+            CompletableFuture<String> future = TextFormatter.transformStringAsync(TestPlayers.player(), "Hi %async_name%");
+
+            assertEquals("Hi NAME", future.getNow(null));
+            assertEquals(0, scheduler.pending());
+            assertEquals(List.of(true), resolvedOnOwner);
+        }
+    }
+
+    @Nested
+    @DisplayName("broadcast")
+    class BroadcastTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "%b_rank%%b_name% joined!",
+                "<green>Welcome <gold>%b_name%</gold>, you are %b_rank%ranked",
+                "<click:run_command:/msg %b_name%>Message %b_name%</click>",
+                "No placeholders here",
+                "<yellow>Static markup"
+        })
+        void shouldSendWhatTransformRendersForEachPlayer(String message) {
+            zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+                @Override
+                public @NotNull String getIdentifier() {
+                    return "b";
+                }
+
+                @Override
+                public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                    if (player == null) return null;
+                    return switch (params) {
+                        case "name" -> player.getName();
+                        case "rank" -> player.getName().equals("Steve") ? "<red>[VIP] " : "";
+                        default -> null;
+                    };
+                }
+            });
+            try {
+                Map<String, Component> received = new HashMap<>();
+                List<Player> players = new ArrayList<>();
+                for (String name : List.of("Steve", "Alex", "Sam")) {
+                    players.add(TestPlayers.builder().name(name)
+                            .on("sendMessage", args -> received.put(name, (Component) args[0]))
+                            .build());
+                }
+
+                TextFormatter.broadcast(players, message);
+                TextFormatter.broadcast(players, message);
+
+                for (Player player : players) {
+                    assertEquals(TextFormatter.transform(player, message).compact(), received.get(player.getName()).compact());
+                }
+            } finally {
+                zAPI.resetPlaceholdersHandler();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("transform(Component)")
+    class TransformComponentTests {
+
+        @Test
+        void shouldReplaceInPlaceAndShareUnchangedParts() {
+            zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+                @Override
+                public @NotNull String getIdentifier() {
+                    return "c";
+                }
+
+                @Override
+                public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                    return switch (params) {
+                        case "name" -> "Steve";
+                        case "rank" -> "<gold>VIP";
+                        default -> null;
+                    };
+                }
+            });
+            try {
+                Component unchanged = Component.text("Static <tag> text", NamedTextColor.GRAY);
+                Component component = Component.text("Hi %c_name%", NamedTextColor.RED)
+                        .hoverEvent(HoverEvent.showText(Component.text("Rank: %c_rank%")))
+                        .append(unchanged);
+
+                Component result = TextFormatter.transform(null, component);
+
+                assertSame(unchanged, result.children().get(0));
+                assertEquals(Component.text("Hi Steve", NamedTextColor.RED).append(unchanged), result.hoverEvent(null));
+                assertEquals("Rank: <gold>VIP", zAPI.getMiniMessage().serialize((Component) result.hoverEvent().value()));
+                assertSame(unchanged, TextFormatter.transform(null, unchanged));
+            } finally {
+                zAPI.resetPlaceholdersHandler();
+            }
+        }
+
+        @Test
+        void shouldOnlyReplaceInTextClickPayloads() {
+            zAPI.setPlaceholdersHandler(new PlaceholdersHandler() {
+                @Override
+                public @NotNull String getIdentifier() {
+                    return "c";
+                }
+
+                @Override
+                public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+                    return params.equals("name") ? "Steve" : null;
+                }
+            });
+            try {
+                Component command = Component.text("Msg").clickEvent(ClickEvent.runCommand("/msg %c_name%"));
+                Component page = Component.text("Next").clickEvent(ClickEvent.changePage(3));
+                Component custom = Component.text("Custom").clickEvent(ClickEvent.custom(Key.key("zapi", "test"), "%c_name%"));
+
+                assertEquals(ClickEvent.runCommand("/msg Steve"), TextFormatter.transform(null, command).clickEvent());
+                assertSame(page, TextFormatter.transform(null, page));
+                assertSame(custom, TextFormatter.transform(null, custom));
+            } finally {
+                zAPI.resetPlaceholdersHandler();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("transform with custom placeholders")
+    class CustomPlaceholderTests {
+
+        @Test
+        void shouldRewriteKnownPlaceholdersAsTags() {
+            PlaceholderTags tags = new PlaceholderTags(Map.of("%slot%", "3", "%player%", "Steve"));
+
+            assertEquals("Slot <zapi:slot> of %page%", tags.rewrite("Slot %slot% of %page%"));
+            assertEquals("<click:run_command:/tp Steve><zapi:player>", tags.rewrite("<click:run_command:/tp %player%>%player%"));
+            assertEquals("\\%slot% <zapi:slot>", tags.rewrite("\\%slot% %slot%"));
+            String unchanged = "50% off, %page%";
+            assertSame(unchanged, tags.rewrite(unchanged));
+        }
+
+        @Test
+        void shouldInsertValuesWithoutBreakingTheSurroundingMarkup() {
+            Component result = TextFormatter.transform(null, "<red>Hi %name%!", Map.of("%name%", "<bold>Steve"));
+
+            assertEquals("Hi Steve!", PlainTextComponentSerializer.plainText().serialize(result));
+            assertEquals(NamedTextColor.RED, result.color());
+            Component last = result.children().get(result.children().size() - 1);
+            assertEquals(Component.text("!"), last);
+        }
+
+        @Test
+        void shouldFallBackToPlainTransformWithoutKnownPlaceholders() {
+            assertEquals(TextFormatter.transform(null, "<red>Hi"), TextFormatter.transform(null, "<red>Hi", Map.of("%name%", "x")));
+            assertEquals(List.of(Component.text("a 3")),
+                    TextFormatter.transformAll(null, List.of("a %slot%"), Map.of("%slot%", "3")).stream()
+                            .map(c -> Component.text(PlainTextComponentSerializer.plainText().serialize(c))).toList());
+        }
+    }
+}
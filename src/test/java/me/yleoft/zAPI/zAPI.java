@@ -1,21 +1,105 @@
 package me.yleoft.zAPI;
 
+import com.tcoded.folialib.impl.PlatformScheduler;
+import me.yleoft.zAPI.handlers.PlaceholdersHandler;
+import me.yleoft.zAPI.logging.Logger;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Test-only stub for LanguageManager.
  */
 public final class zAPI {
 
     private static final TestLogger LOGGER = new TestLogger();
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    // The no-op handler the real zAPI installs until a plugin sets its own
+    private static final PlaceholdersHandler DEFAULT_PLACEHOLDERS_HANDLER = new PlaceholdersHandler() {
+        @Override
+        public @NotNull String getIdentifier() {
+            return "";
+        }
+
+        @Override
+        public @Nullable String applyHookPlaceholders(@Nullable OfflinePlayer player, @NotNull String params) {
+            return "";
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+    };
+
+    private static volatile PlaceholdersHandler placeholdersHandler = DEFAULT_PLACEHOLDERS_HANDLER;
+    private static volatile PlatformScheduler scheduler;
 
     private zAPI() {}
 
-    public static TestLogger getLogger() {
+    public static Logger getLogger() {
         return LOGGER;
     }
 
-    public static final class TestLogger {
+    public static JavaPlugin getPlugin() {
+        return null;
+    }
+
+    public static PlatformScheduler getScheduler() {
+        if (scheduler == null) throw new IllegalStateException("No scheduler set, call zAPI.setScheduler first");
+        return scheduler;
+    }
+
+    /**
+     * Sets the scheduler returned by {@link #getScheduler()}, or removes it with null.
+     */
+    public static void setScheduler(@Nullable PlatformScheduler scheduler) {
+        zAPI.scheduler = scheduler;
+    }
+
+    public static MiniMessage getMiniMessage() {
+        return MINI_MESSAGE;
+    }
+
+    public static PlaceholdersHandler getPlaceholdersHandler() {
+        return placeholdersHandler;
+    }
+
+    public static void setPlaceholdersHandler(@NotNull PlaceholdersHandler handler) {
+        placeholdersHandler = handler;
+    }
+
+    /**
+     * Restores the no-op handler, for tests that set their own.
+     */
+    public static void resetPlaceholdersHandler() {
+        placeholdersHandler = DEFAULT_PLACEHOLDERS_HANDLER;
+    }
+
+    public static final class TestLogger extends Logger {
+        @Override
+        public void info(String message) {
+            // swallow in tests (or store messages if you want to assert them)
+        }
+
+        @Override
         public void warn(String message) {
             // swallow in tests (or store messages if you want to assert them)
         }
+
+        @Override
+        public void warn(String message, Throwable throwable) {
+        }
+
+        @Override
+        public void error(String message) {
+        }
+
+        @Override
+        public void error(String message, Throwable throwable) {
+        }
     }
-}
\ No newline at end of file
+}